@@ -0,0 +1,79 @@
+package com.projectmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (written by the benchmark profile to target/jmh-result.json),
+ * e.g. from the previous and the current commit:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.result.file=target/jmh-base.json      (on the base commit)
+ * mvn -Pbenchmark test-compile exec:exec                                             (on the change)
+ * mvn -Pbenchmark exec:exec -Dbenchmark.main=com.projectmanagement.BenchmarkComparison -Djmh.result.args= \
+ *     -Djmh.args="target/jmh-base.json target/jmh-result.json 10"
+ * </pre>
+ * Benchmarks are matched by name and parameters. A change worse than the threshold percentage (default 10)
+ * in the benchmark's own direction (lower time, higher throughput) is flagged, and the exit code is 1 if any was.
+ */
+public class BenchmarkComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-100s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode metric = entry.getValue().get("primaryMetric");
+            double score = metric.get("score").asDouble();
+            String unit = metric.get("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-100s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+            double baseScore = before.get("primaryMetric").get("score").asDouble();
+            double change = baseScore == 0 ? 0 : (score - baseScore) * 100.0 / baseScore;
+            // Throughput modes improve upwards, time modes downwards
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().get("mode").asText());
+            boolean regression = higherIsBetter ? change < -threshold : change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-100s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), baseScore, score, change, unit,
+                    regression ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-100s %14s%n", key, "removed"));
+
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // Keyed by "benchmark [param=value, ...]"
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramsNode = result.get("params");
+            if (paramsNode != null) {
+                paramsNode.fields().forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+            }
+            String key = result.get("benchmark").asText() + (params.isEmpty() ? "" : " " + params);
+            results.put(key, result);
+        }
+        return results;
+    }
+}
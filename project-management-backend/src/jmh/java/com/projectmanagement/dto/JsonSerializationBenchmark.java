@@ -0,0 +1,77 @@
+package com.projectmanagement.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the list responses: projects, tasks and project members, per list size.
+ * This is the work JsonResponseCache saves on a cache hit (and all of it on a 304).
+ * The mapper is configured like Spring Boot's (Jackson2ObjectMapperBuilder defaults).
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="JsonSerialization -p size=100"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<ProjectResponse> projects;
+    private List<TaskResponse> tasks;
+    private List<ProjectAssignmentWithUsername> members;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Date now = new Date();
+        projects = new ArrayList<>(size);
+        tasks = new ArrayList<>(size);
+        members = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            projects.add(new ProjectResponse(i, "Project " + i, "Description of project " + i + " with a few more words",
+                    i % 50, now, i % 3 == 0 ? "COMPLETED" : "IN_PROGRESS", 3L));
+            tasks.add(new TaskResponse(i, "Task " + i, "TODO", i % 50, "Project " + (i % 50),
+                    i % 200, "User " + (i % 200), now, 1L));
+            members.add(new ProjectAssignmentWithUsername(i, 1, i, "User " + i, now));
+        }
+    }
+
+    @Benchmark
+    public byte[] projects() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+
+    @Benchmark
+    public byte[] tasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] members() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(members);
+    }
+}
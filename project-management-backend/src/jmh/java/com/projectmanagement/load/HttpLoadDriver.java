@@ -0,0 +1,141 @@
+package com.projectmanagement.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for comparing the backend with platform and virtual request threads.
+ * Each of {@code --concurrency} workers sends one request, waits for the response and sends the next,
+ * for {@code --warmup} (discarded) and then {@code --duration}; throughput and latency percentiles are printed.
+ * <p>
+ * Start the backend twice, with {@code VIRTUAL_THREADS=false} and {@code VIRTUAL_THREADS=true},
+ * and run the same sweep (e.g. concurrency 50, 200, 400, 800) against both:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.projectmanagement.load.HttpLoadDriver \
+ *     -Djmh.args="--url http://localhost:8080/api/projects/page?size=20 --token $JWT --concurrency 400 --duration 60"
+ * </pre>
+ * Above the Tomcat thread count (200 by default) platform threads start queueing requests, while virtual threads
+ * keep accepting them until the Hikari pool (spring.datasource.hikari.maximum-pool-size) becomes the limit.
+ */
+public class HttpLoadDriver {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI url = URI.create(options.getOrDefault("url", "http://localhost:8080/api/projects/page?size=20"));
+        String token = options.getOrDefault("token", System.getenv("JWT"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        long warmupMillis = Long.parseLong(options.getOrDefault("warmup", "10")) * 1000;
+        long durationMillis = Long.parseLong(options.getOrDefault("duration", "30")) * 1000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        long start = System.currentTimeMillis();
+        long measureFrom = start + warmupMillis;
+        long end = measureFrom + durationMillis;
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<WorkerResult>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> run(client, request, measureFrom, end)));
+        }
+
+        WorkerResult total = new WorkerResult();
+        for (Future<WorkerResult> future : futures) {
+            total.merge(future.get());
+        }
+        workers.shutdown();
+
+        long[] latencies = Arrays.copyOf(total.latenciesMicros, total.count);
+        Arrays.sort(latencies);
+        System.out.printf("url=%s concurrency=%d duration=%ds%n", url, concurrency, durationMillis / 1000);
+        System.out.printf("requests=%d throughput=%.1f req/s errors=%d statuses=%s%n",
+                total.count, total.count * 1000.0 / durationMillis, total.errors, total.statuses);
+        System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1000.0);
+    }
+
+    private static WorkerResult run(HttpClient client, HttpRequest request, long measureFrom, long end) {
+        WorkerResult result = new WorkerResult();
+        long now;
+        while ((now = System.currentTimeMillis()) < end) {
+            long sent = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            long micros = (System.nanoTime() - sent) / 1000;
+            if (now >= measureFrom) {
+                result.record(status, micros);
+            }
+        }
+        return result;
+    }
+
+    private static double percentile(long[] sortedMicros, double quantile) {
+        if (sortedMicros.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sortedMicros.length) - 1;
+        return sortedMicros[Math.max(index, 0)] / 1000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static final class WorkerResult {
+        private long[] latenciesMicros = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+        void record(int status, long micros) {
+            if (count == latenciesMicros.length) {
+                latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+            }
+            latenciesMicros[count++] = micros;
+            statuses.merge(status, 1, Integer::sum);
+            if (status < 200 || status >= 400) {
+                errors++;
+            }
+        }
+
+        void merge(WorkerResult other) {
+            for (int i = 0; i < other.count; i++) {
+                if (count == latenciesMicros.length) {
+                    latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+                }
+                latenciesMicros[count++] = other.latenciesMicros[i];
+            }
+            errors += other.errors;
+            other.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.projectmanagement.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the ProjectAssignmentRepository lookups on a project_assignments-shaped table
+ * with and without the uk_project_assignments_project_user / idx_project_assignments_user indexes.
+ *
+ * Needs a scratch MySQL schema (the tables are created and seeded on first run, which takes a while at 1M rows):
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ProjectAssignmentLookup \
+ *     -jvmArgs -Dbench.jdbc.url=jdbc:mysql://localhost:3306/pm_bench?rewriteBatchedStatements=true \
+ *     -jvmArgs -Dbench.jdbc.user=root -jvmArgs -Dbench.jdbc.password=..."
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjectAssignmentLookupBenchmark {
+
+    // 1000 projects x 1000 users = 1M assignments by default
+    @Param({"1000"})
+    public int projects;
+
+    @Param({"1000"})
+    public int usersPerProject;
+
+    @Param({"indexed", "unindexed"})
+    public String schema;
+
+    private Connection connection;
+    private PreparedStatement byProjectAndUser;
+    private PreparedStatement byProject;
+    private PreparedStatement byUser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/pm_bench?rewriteBatchedStatements=true"),
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", ""));
+
+        String table = "bench_assignments_" + schema + "_" + projects + "x" + usersPerProject;
+        createAndSeed(table);
+
+        byProjectAndUser = connection.prepareStatement(
+                "SELECT assignment_id FROM " + table + " WHERE project_id = ? AND user_id = ?");
+        byProject = connection.prepareStatement(
+                "SELECT assignment_id, user_id, assigned_at FROM " + table + " WHERE project_id = ?");
+        byUser = connection.prepareStatement(
+                "SELECT assignment_id, project_id, assigned_at FROM " + table + " WHERE user_id = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void existsByProjectIdAndUserId(Blackhole blackhole) throws SQLException {
+        byProjectAndUser.setInt(1, randomProject());
+        byProjectAndUser.setInt(2, randomUser());
+        drain(byProjectAndUser, blackhole);
+    }
+
+    @Benchmark
+    public void findByProjectId(Blackhole blackhole) throws SQLException {
+        byProject.setInt(1, randomProject());
+        drain(byProject, blackhole);
+    }
+
+    @Benchmark
+    public void findByUserId(Blackhole blackhole) throws SQLException {
+        byUser.setInt(1, randomUser());
+        drain(byUser, blackhole);
+    }
+
+    private int randomProject() {
+        return ThreadLocalRandom.current().nextInt(1, projects + 1);
+    }
+
+    private int randomUser() {
+        return ThreadLocalRandom.current().nextInt(1, usersPerProject + 1);
+    }
+
+    private void drain(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getInt(1));
+            }
+        }
+    }
+
+    // Same columns as project_assignments; the tables are kept between runs so seeding is paid once
+    private void createAndSeed(String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + table + " ("
+                    + "assignment_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "project_id INT NOT NULL, "
+                    + "user_id INT NOT NULL, "
+                    + "assigned_at DATETIME(6) NOT NULL)");
+
+            try (ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                count.next();
+                if (count.getLong(1) == (long) projects * usersPerProject) {
+                    return;
+                }
+            }
+            statement.execute("DELETE FROM " + table);
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (project_id, user_id, assigned_at) VALUES (?, ?, ?)")) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            int pending = 0;
+            for (int project = 1; project <= projects; project++) {
+                for (int user = 1; user <= usersPerProject; user++) {
+                    insert.setInt(1, project);
+                    insert.setInt(2, user);
+                    insert.setTimestamp(3, now);
+                    insert.addBatch();
+                    if (++pending == 10_000) {
+                        insert.executeBatch();
+                        connection.commit();
+                        pending = 0;
+                    }
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        if ("indexed".equals(schema)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE UNIQUE INDEX uk_" + table + " ON " + table + " (project_id, user_id)");
+                statement.execute("CREATE INDEX idx_" + table + "_user ON " + table + " (user_id)");
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.config.CacheConfig;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.service.CustomUserDetailsService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}: header parsing, token verification
+ * (warm claims cache), the revocation check and the principal (cached lookup, or built from the claims in
+ * stateless mode), up to the security context being set. Includes the mock request/response allocation.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtAuthenticationFilter"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.JWT_CLAIMS, CacheConfig.jwtClaimsCache(10_000));
+        cacheManager.registerCustomCache(CacheConfig.PRINCIPALS, Caffeine.newBuilder().maximumSize(10_000).build());
+        cacheManager.registerCustomCache(CacheConfig.REVOKED_TOKENS, CacheConfig.revokedTokensCache());
+        cacheManager.registerCustomCache(CacheConfig.REVOCATION_WATERMARKS, CacheConfig.revocationWatermarksCache(Duration.ofMinutes(15)));
+
+        JwtUtil jwtUtil = new JwtUtil(cacheManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", "abcdefghijklmnopqrstuvwxyz123456");
+        jwtUtil.init();
+
+        User user = new User();
+        user.setId(1);
+        user.setName("Bench User");
+        user.setEmail("bench@example.com");
+        user.setPassword("unused");
+        user.setRole("USER");
+        user.setCreatedAt(new Date());
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        PrincipalCache principalCache = new PrincipalCache(cacheManager, new CustomUserDetailsService(userRepository));
+        filter = new JwtAuthenticationFilter(jwtUtil, principalCache, new TokenRevocationList(cacheManager), stateless);
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(AuthenticatedUser.from(user));
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
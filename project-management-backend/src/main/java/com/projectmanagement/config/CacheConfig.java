@@ -0,0 +1,206 @@
+package com.projectmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.projectmanagement.security.JwtClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Central registry of the in-process caches used by the application.
+ * Every cache is registered up front so that its hit/miss/eviction statistics
+ * are published through the actuator metrics endpoint (cache.gets, cache.evictions).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Authenticated principals resolved by the JWT filter, keyed by email
+    public static final String PRINCIPALS = "principals";
+
+    // Verified JWT claims, keyed by the token signature and evicted when the token expires
+    public static final String JWT_CLAIMS = "jwtClaims";
+
+    // Project DTOs served by ProjectService, keyed by project id
+    public static final String PROJECTS_BY_ID = "projectsById";
+
+    // Project DTO lists served by ProjectService, keyed by ProjectService.ALL_PROJECTS / status / creator keys
+    public static final String PROJECT_LISTS = "projectLists";
+
+    // Serialized JSON bodies served by JsonResponseCache, keyed by endpoint key and resource version
+    public static final String JSON_RESPONSES = "jsonResponses";
+
+    // Revoked token ids (jti) mapped to the token's expiration; each entry is dropped once the token has expired.
+    // Not bounded by size: evicting an entry early would make the revoked token valid again
+    public static final String REVOKED_TOKENS = "revokedTokens";
+
+    // Per-user "tokens issued before" watermarks, kept for one token lifetime; not bounded by size either
+    public static final String REVOCATION_WATERMARKS = "revocationWatermarks";
+
+    // Progress of background project deletions (ProjectDeletionService), keyed by project id
+    public static final String PROJECT_DELETIONS = "projectDeletions";
+
+    // RateLimitFilter token buckets, keyed by rule and client (IP, IP and login email, or user)
+    public static final String RATE_LIMIT_BUCKETS = "rateLimitBuckets";
+
+    @Value("${cache.principals.max-size:10000}")
+    private long principalsMaxSize;
+
+    @Value("${cache.principals.ttl:5m}")
+    private Duration principalsTtl;
+
+    @Value("${cache.jwt-claims.max-size:10000}")
+    private long jwtClaimsMaxSize;
+
+    @Value("${cache.projects.max-size:10000}")
+    private long projectsMaxSize;
+
+    @Value("${cache.projects.ttl:10m}")
+    private Duration projectsTtl;
+
+    @Value("${cache.project-lists.max-size:1000}")
+    private long projectListsMaxSize;
+
+    @Value("${cache.project-lists.ttl:1m}")
+    private Duration projectListsTtl;
+
+    @Value("${cache.json-responses.max-size:50MB}")
+    private DataSize jsonResponsesMaxSize;
+
+    @Value("${cache.json-responses.ttl:10m}")
+    private Duration jsonResponsesTtl;
+
+    // Access token lifetime (JwtUtil); a watermark is only needed while tokens issued before it can still be valid
+    @Value("${jwt.token.expiration:15m}")
+    private Duration tokenValidity;
+
+    @Value("${cache.project-deletions.ttl:1h}")
+    private Duration projectDeletionsTtl;
+
+    @Value("${cache.rate-limit-buckets.max-size:100000}")
+    private long rateLimitBucketsMaxSize;
+
+    @Value("${cache.rate-limit-buckets.idle-timeout:10m}")
+    private Duration rateLimitBucketsIdleTimeout;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist; unknown names resolve to null instead of an unbounded cache
+        cacheManager.setCacheNames(Collections.emptyList());
+
+        cacheManager.registerCustomCache(PRINCIPALS, Caffeine.newBuilder()
+                .maximumSize(principalsMaxSize)
+                .expireAfterWrite(principalsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(JWT_CLAIMS, jwtClaimsCache(jwtClaimsMaxSize));
+        cacheManager.registerCustomCache(PROJECTS_BY_ID, Caffeine.newBuilder()
+                .maximumSize(projectsMaxSize)
+                .expireAfterWrite(projectsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PROJECT_LISTS, Caffeine.newBuilder()
+                .maximumSize(projectListsMaxSize)
+                .expireAfterWrite(projectListsTtl)
+                .recordStats()
+                .build());
+        // Bounded by total body size; bodies of superseded versions are never read again and age out
+        cacheManager.registerCustomCache(JSON_RESPONSES, Caffeine.newBuilder()
+                .maximumWeight(jsonResponsesMaxSize.toBytes())
+                .weigher((Object key, Object value) -> ((byte[]) value).length)
+                .expireAfterWrite(jsonResponsesTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(REVOKED_TOKENS, revokedTokensCache());
+        cacheManager.registerCustomCache(REVOCATION_WATERMARKS, revocationWatermarksCache(tokenValidity));
+        // Running deletions rewrite their entry after every chunk; finished ones stay readable for the ttl
+        cacheManager.registerCustomCache(PROJECT_DELETIONS, Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(projectDeletionsTtl)
+                .recordStats()
+                .build());
+        // A bucket left idle longer than it takes to refill is full, so dropping it changes nothing
+        cacheManager.registerCustomCache(RATE_LIMIT_BUCKETS, Caffeine.newBuilder()
+                .maximumSize(rateLimitBucketsMaxSize)
+                .expireAfterAccess(rateLimitBucketsIdleTimeout)
+                .recordStats()
+                .build());
+
+        return cacheManager;
+    }
+
+    /**
+     * Builds the verified-claims cache. Each entry lives exactly until its token expires,
+     * so an expired token can never be served from memory.
+     *
+     * @param maximumSize upper bound on the number of cached tokens
+     * @return the Caffeine cache to register under {@link #JWT_CLAIMS}
+     */
+    public static Cache<Object, Object> jwtClaimsCache(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(untilEpochMillis(value -> ((JwtClaims) value).getExpirationMillis()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Builds the revoked token id cache. Entries hold the token's expiration and are dropped at that instant,
+     * never earlier; the size stays bounded by the tokens revoked within one token lifetime.
+     *
+     * @return the Caffeine cache to register under {@link #REVOKED_TOKENS}
+     */
+    public static Cache<Object, Object> revokedTokensCache() {
+        return Caffeine.newBuilder()
+                .expireAfter(untilEpochMillis(value -> (Long) value))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Builds the per-user watermark cache. An entry is dropped one token lifetime after it was written,
+     * when every token issued before it has expired, and never earlier.
+     *
+     * @param tokenValidity access token lifetime
+     * @return the Caffeine cache to register under {@link #REVOCATION_WATERMARKS}
+     */
+    public static Cache<Object, Object> revocationWatermarksCache(Duration tokenValidity) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(tokenValidity)
+                .recordStats()
+                .build();
+    }
+
+    // Expires each entry at the epoch-millisecond instant derived from its value
+    private static Expiry<Object, Object> untilEpochMillis(ToLongFunction<Object> expiresAt) {
+        return new Expiry<Object, Object>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                long remainingMillis = expiresAt.applyAsLong(value) - System.currentTimeMillis();
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0L));
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.projectmanagement.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support for polled read endpoints.
+ * The strong ETag is the resource version from {@code ResourceVersions}: a matching If-None-Match is
+ * answered with 304 before any query runs, and on a mismatch the JSON body is serialized once per
+ * version and served from {@link CacheConfig#JSON_RESPONSES} as bytes until the version moves on.
+ */
+@Component
+public class JsonResponseCache {
+
+    // Clients may keep the body but must revalidate it on every poll
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final ObjectMapper objectMapper;
+
+    // The cached arrays are shared between responses and never modified
+    private final SingleFlightCache<String, byte[]> bodies;
+
+    public JsonResponseCache(ObjectMapper objectMapper, CacheManager cacheManager) {
+        this.objectMapper = objectMapper;
+        this.bodies = new SingleFlightCache<>(cacheManager.getCache(CacheConfig.JSON_RESPONSES));
+    }
+
+    /**
+     * Answers a read with 304, cached bytes or a freshly serialized body.
+     * The version must be read before the loader runs, so a body is never cached under a newer version than its data.
+     *
+     * @param request the current request, for If-None-Match
+     * @param key     identifies the endpoint and its parameters
+     * @param version current version of the data behind the response
+     * @param loader  produces the response object; null means 404, which is not cached
+     * @return the response entity
+     */
+    public ResponseEntity<byte[]> get(WebRequest request, String key, String version, Supplier<?> loader) {
+        String etag = "\"" + version + "\"";
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
+        byte[] body = bodies.get(key + "@" + version, () -> serialize(loader.get()));
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private byte[] serialize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+
+    // If-None-Match uses the weak comparison, so a W/ prefix added by a proxy still matches.
+    // "*" is not honoured: it would turn a 404 into a 304 without checking that the resource exists
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
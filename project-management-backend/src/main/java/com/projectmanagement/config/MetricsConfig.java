@@ -0,0 +1,29 @@
+package com.projectmanagement.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters on top of the ones Spring Boot binds itself. Everything is served at
+ * /actuator/prometheus; histogram buckets and percentiles are set per meter in application.properties.
+ * <ul>
+ *     <li>http.server.requests: latency per endpoint (uri template, method, status)</li>
+ *     <li>service.invocations: {@code @Timed} service classes, by class and method</li>
+ *     <li>spring.data.repository.invocations: every repository method, by repository, method and state</li>
+ *     <li>hikaricp.connections.*: pool usage, pending threads and acquire time</li>
+ *     <li>db.queries, db.queries.slow, db.queries.n_plus_one: every JDBC statement (QueryMonitor)</li>
+ *     <li>jwt.verify (JwtUtil), password.hashing (BoundedPasswordEncoder), rate.limit.requests (RateLimitFilter)</li>
+ *     <li>cache.* (CacheConfig caches) and hibernate.* statistics</li>
+ * </ul>
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Applies @Timed on beans; without it the annotation is only honoured on controllers
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,239 @@
+package com.projectmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Watches every JDBC statement (the DataSource is wrapped in QueryMonitoringConfig), replacing show_sql:
+ * <ul>
+ *     <li>times each statement: {@code db.queries} by type (select, insert, update, delete, other)</li>
+ *     <li>counts statements slower than {@code db.monitor.slow-threshold} ({@code db.queries.slow}) and logs
+ *     a sample of them ({@code db.monitor.slow-log-sample-rate})</li>
+ *     <li>flags a statement shape executed more than {@code db.monitor.n-plus-one-threshold} times within one
+ *     HTTP request, the usual sign of lazy loading in a loop ({@code db.queries.n_plus_one}, logged at the end of the request)</li>
+ * </ul>
+ * Statements are grouped by shape: whitespace collapsed, literals and IN/VALUES lists reduced to a single "?".
+ * Per-shape totals, the latest slow statements and the latest N+1 findings are served at /actuator/queries.
+ */
+@Component
+public class QueryMonitor implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryMonitor.class);
+
+    private static final int MAX_SHAPE_LENGTH = 1000;
+    private static final int RECENT_ENTRIES = 50;
+    private static final int TOP_SHAPES = 25;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\)(\\s*,\\s*\\(\\?\\))+");
+
+    private final long slowThresholdMillis;
+    private final double slowLogSampleRate;
+    private final int nPlusOneThreshold;
+
+    private final Map<String, Timer> timersByType = new HashMap<>();
+    private final Counter slowQueries;
+    private final Counter nPlusOne;
+
+    // Totals per statement shape; bounded, rarely used shapes are dropped first
+    private final Cache<String, ShapeTotals> shapes;
+    private final Deque<SlowQuery> recentSlow = new ConcurrentLinkedDeque<>();
+    private final Deque<RepeatedQuery> recentRepeated = new ConcurrentLinkedDeque<>();
+
+    // Statement counts of the HTTP request running on this thread; absent outside requests (e.g. background deletions)
+    private final ThreadLocal<RequestQueries> currentRequest = new ThreadLocal<>();
+
+    public QueryMonitor(MeterRegistry meterRegistry,
+                        @Value("${db.monitor.slow-threshold:200ms}") Duration slowThreshold,
+                        @Value("${db.monitor.slow-log-sample-rate:1.0}") double slowLogSampleRate,
+                        @Value("${db.monitor.n-plus-one-threshold:10}") int nPlusOneThreshold,
+                        @Value("${db.monitor.max-shapes:1000}") long maxShapes) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.slowLogSampleRate = slowLogSampleRate;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        for (String type : List.of("select", "insert", "update", "delete", "other")) {
+            timersByType.put(type, Timer.builder("db.queries")
+                    .tag("type", type)
+                    .description("JDBC statement execution time")
+                    .register(meterRegistry));
+        }
+        this.slowQueries = Counter.builder("db.queries.slow")
+                .description("Statements slower than db.monitor.slow-threshold")
+                .register(meterRegistry);
+        this.nPlusOne = Counter.builder("db.queries.n_plus_one")
+                .description("Statement shapes repeated more than db.monitor.n-plus-one-threshold times in one request")
+                .register(meterRegistry);
+        this.shapes = Caffeine.newBuilder().maximumSize(maxShapes).build();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsedMillis = execInfo.getElapsedTime();
+        String shape = shape(queryInfoList.get(0).getQuery());
+
+        timersByType.get(type(shape)).record(elapsedMillis, TimeUnit.MILLISECONDS);
+        shapes.get(shape, key -> new ShapeTotals()).add(elapsedMillis);
+
+        RequestQueries request = currentRequest.get();
+        if (elapsedMillis >= slowThresholdMillis) {
+            slowQueries.increment();
+            String requestName = request != null ? request.name : null;
+            addRecent(recentSlow, new SlowQuery(Instant.now(), elapsedMillis, shape, requestName));
+            if (slowLogSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < slowLogSampleRate) {
+                logger.warn("Slow query ({} ms) in {}: {}", elapsedMillis, requestName != null ? requestName : "background", shape);
+            }
+        }
+        // A batch is one round trip however many rows it carries
+        if (request != null && !execInfo.isBatch()) {
+            request.counts.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Starts counting statements for the request on the current thread.
+     *
+     * @param name request description for logs and findings, e.g. "GET /api/projects"
+     */
+    public void beginRequest(String name) {
+        currentRequest.set(new RequestQueries(name));
+    }
+
+    // Reports the shapes that crossed the N+1 threshold and stops counting
+    public void endRequest() {
+        RequestQueries request = currentRequest.get();
+        currentRequest.remove();
+        if (request == null) {
+            return;
+        }
+        request.counts.forEach((shape, count) -> {
+            if (count > nPlusOneThreshold) {
+                nPlusOne.increment();
+                addRecent(recentRepeated, new RepeatedQuery(Instant.now(), request.name, count, shape));
+                logger.warn("Possible N+1 in {}: statement executed {} times: {}", request.name, count, shape);
+            }
+        });
+    }
+
+    /**
+     * Current totals for /actuator/queries.
+     *
+     * @return settings, the most expensive shapes by total time, recent slow statements and N+1 findings
+     */
+    public Map<String, Object> snapshot() {
+        List<ShapeSummary> top = new ArrayList<>();
+        shapes.asMap().forEach((shape, totals) -> top.add(totals.summary(shape)));
+        top.sort(Comparator.comparingLong(ShapeSummary::totalMillis).reversed());
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("slowThresholdMillis", slowThresholdMillis);
+        snapshot.put("nPlusOneThreshold", nPlusOneThreshold);
+        snapshot.put("shapes", shapes.estimatedSize());
+        snapshot.put("topByTotalTime", top.subList(0, Math.min(TOP_SHAPES, top.size())));
+        snapshot.put("recentSlow", List.copyOf(recentSlow));
+        snapshot.put("recentNPlusOne", List.copyOf(recentRepeated));
+        return snapshot;
+    }
+
+    // Clears the per-shape totals and recent entries; the Micrometer meters keep counting
+    public void reset() {
+        shapes.invalidateAll();
+        recentSlow.clear();
+        recentRepeated.clear();
+    }
+
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        shape = ROW_LIST.matcher(shape).replaceAll("(?)");
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) : shape;
+    }
+
+    private static String type(String shape) {
+        int end = shape.indexOf(' ');
+        String keyword = (end > 0 ? shape.substring(0, end) : shape).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private static <T> void addRecent(Deque<T> recent, T entry) {
+        recent.addFirst(entry);
+        while (recent.size() > RECENT_ENTRIES) {
+            recent.pollLast();
+        }
+    }
+
+    private static final class RequestQueries {
+        private final String name;
+        private final Map<String, Integer> counts = new HashMap<>();
+
+        private RequestQueries(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class ShapeTotals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0L);
+
+        private void add(long millis) {
+            count.increment();
+            totalMillis.add(millis);
+            maxMillis.accumulate(millis);
+        }
+
+        private ShapeSummary summary(String sql) {
+            return new ShapeSummary(sql, count.sum(), totalMillis.sum(), maxMillis.get());
+        }
+    }
+
+    public record ShapeSummary(String sql, long count, long totalMillis, long maxMillis) {
+    }
+
+    public record SlowQuery(Instant at, long millis, String sql, String request) {
+    }
+
+    public record RepeatedQuery(Instant at, String request, int count, String sql) {
+    }
+}
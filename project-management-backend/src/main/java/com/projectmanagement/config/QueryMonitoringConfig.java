@@ -0,0 +1,91 @@
+package com.projectmanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Wires {@link QueryMonitor}: wraps the DataSource so every statement is reported to it, scopes the
+ * N+1 counting to each HTTP request, and serves its totals at /actuator/queries (ROLE_ADMIN).
+ */
+@Configuration
+public class QueryMonitoringConfig {
+
+    // Static, and the monitor resolved lazily, so this post-processor does not create other beans early
+    @Bean
+    public static BeanPostProcessor queryMonitorDataSourceWrapper(ObjectProvider<QueryMonitor> queryMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(queryMonitor.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Outermost filter, so statements run by the security chain count towards the request too
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> queryMonitorRequestFilter(QueryMonitor queryMonitor) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                queryMonitor.beginRequest(request.getMethod() + " " + request.getRequestURI());
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    queryMonitor.endRequest();
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public QueriesEndpoint queriesEndpoint(QueryMonitor queryMonitor) {
+        return new QueriesEndpoint(queryMonitor);
+    }
+
+    @Endpoint(id = "queries")
+    public static class QueriesEndpoint {
+
+        private final QueryMonitor queryMonitor;
+
+        public QueriesEndpoint(QueryMonitor queryMonitor) {
+            this.queryMonitor = queryMonitor;
+        }
+
+        @ReadOperation
+        public Map<String, Object> queries() {
+            return queryMonitor.snapshot();
+        }
+
+        @DeleteOperation
+        public void reset() {
+            queryMonitor.reset();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.projectmanagement.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-through wrapper around one of the {@link CacheConfig} caches.
+ * Concurrent misses for the same key share a single load, and the load runs outside any lock:
+ * {@code Cache.get(key, loader)} would run it inside {@code ConcurrentHashMap.compute}, holding a map bin
+ * lock for the whole query and blocking other keys that hash to the same bin.
+ * A load stays registered until its value is in the cache, and an {@link #evict} or {@link #clear} that
+ * unregisters it at any point before then makes the loader evict its (possibly stale) result again.
+ *
+ * @param <K> key type
+ * @param <V> value type; values must be immutable, they are shared between requests
+ */
+public class SingleFlightCache<K, V> {
+
+    private final Cache cache;
+
+    // Loads in progress, so concurrent misses for one key share a single query
+    private final ConcurrentMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+    public SingleFlightCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the cached value, or loads and caches it on a miss.
+     * A loader exception is rethrown to every caller waiting on that load and nothing is cached.
+     *
+     * @param key    cache key
+     * @param loader loads the value on a miss; may return null, which is not cached
+     * @return the cached or freshly loaded value
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key, Supplier<V> loader) {
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return (V) cached.get();  // Only this wrapper writes to the cache, so the type holds
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inProgress = loads.putIfAbsent(key, load);
+        if (inProgress != null) {
+            return await(inProgress);
+        }
+        try {
+            // A load that finished between the cache check and the putIfAbsent above
+            cached = cache.get(key);
+            V value = cached != null ? (V) cached.get() : loader.get();
+            if (cached == null && value != null) {
+                store(key, value);
+            }
+            // Still registered here means no evict() ran since the load started. Otherwise the value may
+            // predate the change that caused it, and it may have been stored after the evict, so drop it again
+            if (!loads.remove(key, load)) {
+                cache.evict(key);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loads.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void put(K key, V value) {
+        cache.put(key, value);
+    }
+
+    // Caches a freshly loaded value; overridden in tests to land an evict() on either side of the put
+    void store(K key, V value) {
+        cache.put(key, value);
+    }
+
+    public void evict(K key) {
+        loads.remove(key);
+        cache.evict(key);
+    }
+
+    public void clear() {
+        loads.clear();
+        cache.clear();
+    }
+
+    // Waits for another request's load and surfaces its exception as is
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.projectmanagement.controller;
 
+import com.projectmanagement.config.JsonResponseCache;
+import com.projectmanagement.dto.BulkAssignmentRequest;
+import com.projectmanagement.dto.BulkAssignmentResult;
 import com.projectmanagement.dto.ProjectAssignmentWithUsername;
 import com.projectmanagement.model.ProjectAssignment;
 import com.projectmanagement.service.ProjectAssignmentService;
+import com.projectmanagement.service.ResourceVersions;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,6 +26,13 @@ public class ProjectAssignmentController {
     @Autowired
     private ProjectAssignmentService projectAssignmentService;
 
+    // Reads below answer If-None-Match from the in-memory versions and serve cached JSON bytes
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     // Assign a user to a project (only admins)
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @PostMapping
@@ -23,18 +40,51 @@ public class ProjectAssignmentController {
         return projectAssignmentService.assignUserToProject(assignment);
     }
 
-    // Get all assignments for a specific project (accessible by users with appropriate roles)
+    // Assign many users to a project in one call (only admins); returns one result per user
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/bulk")
+    public List<BulkAssignmentResult> assignUsersToProject(@Valid @RequestBody BulkAssignmentRequest request) {
+        return projectAssignmentService.assignUsersToProject(request.getProjectId(), request.getUserIds());
+    }
+
+    // Remove many users from a project in one call (only admins); returns one result per user
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @DeleteMapping("/bulk")
+    public List<BulkAssignmentResult> removeUsersFromProject(@Valid @RequestBody BulkAssignmentRequest request) {
+        return projectAssignmentService.removeUsersFromProject(request.getProjectId(), request.getUserIds());
+    }
+
+    // Get all assignments for a specific project (accessible by users with appropriate roles).
+    // The reads carry an ETag; a matching If-None-Match is answered with 304 without querying anything
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @GetMapping("/project/{projectId}")
-    public List<ProjectAssignment> getAssignmentsByProject(@PathVariable int projectId) {
-        return projectAssignmentService.getAssignmentsByProject(projectId);
+    public ResponseEntity<byte[]> getAssignmentsByProject(@PathVariable int projectId, WebRequest request) {
+        return jsonResponseCache.get(request, "assignments:project:" + projectId,
+                resourceVersions.projectAssignments(projectId),
+                () -> projectAssignmentService.getAssignmentsByProject(projectId));
+    }
+
+    // Get a page of a project's members with their names in one request: ?page=0&size=50&count=false
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    @GetMapping("/project/{projectId}/members")
+    public ResponseEntity<byte[]> getMembersByProject(
+            @PathVariable int projectId,
+            @PageableDefault(size = 50) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count,
+            WebRequest request) {
+        // Members are always ordered by name; client-supplied sort is ignored
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        String key = "members:" + projectId + ":" + page.getPageNumber() + ":" + page.getPageSize() + ":" + count;
+        return jsonResponseCache.get(request, key, resourceVersions.projectMembers(projectId),
+                () -> projectAssignmentService.getMembersByProject(projectId, page, count));
     }
 
     // Get all assignments for a specific user (accessible by users with appropriate roles)
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @GetMapping("/user/{userId}")
-    public List<ProjectAssignment> getAssignmentsByUser(@PathVariable int userId) {
-        return projectAssignmentService.getAssignmentsByUser(userId);
+    public ResponseEntity<byte[]> getAssignmentsByUser(@PathVariable int userId, WebRequest request) {
+        return jsonResponseCache.get(request, "assignments:user:" + userId, resourceVersions.assignments(),
+                () -> projectAssignmentService.getAssignmentsByUser(userId));
     }
 
     // Remove a user from a project (only admins)
@@ -1,19 +1,35 @@
 package com.projectmanagement.controller;
 
+import com.projectmanagement.config.JsonResponseCache;
+import com.projectmanagement.dto.BulkStatusRequest;
+import com.projectmanagement.dto.BulkStatusResult;
+import com.projectmanagement.dto.KeysetResponse;
+import com.projectmanagement.dto.PagedResponse;
+import com.projectmanagement.dto.ProjectDeletionProgress;
+import com.projectmanagement.dto.ProjectPatchRequest;
+import com.projectmanagement.dto.ProjectResponse;
+import com.projectmanagement.dto.ProjectSummary;
 import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.exception.VersionConflictException;
 import com.projectmanagement.model.Project;
 import com.projectmanagement.payload.ProjectRequest;
+import com.projectmanagement.security.AuthenticatedUser;
 import com.projectmanagement.service.ProjectService;
-import com.projectmanagement.service.UserService;
+import com.projectmanagement.service.ResourceVersions;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -22,20 +38,31 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
+    // Reads below answer If-None-Match from the in-memory versions and serve cached JSON bytes
     @Autowired
-    private UserService userService;
+    private JsonResponseCache jsonResponseCache;
 
-    // Get all projects
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    // Upper bound for keyset page sizes (paged endpoints are capped by spring.data.web.pageable.max-page-size)
+    private static final int MAX_SEEK_SIZE = 100;
+
+    // Get all projects (full projects including description, served from the ProjectService cache;
+    // list views should prefer /summary or /page). This and the other unpaged reads carry an ETag and
+    // answer a matching If-None-Match with 304 without querying anything
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<Project>> getAllProjects() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    public ResponseEntity<byte[]> getAllProjects(WebRequest request) {
+        return jsonResponseCache.get(request, "projects", resourceVersions.projects(),
+                projectService::getAllProjects);
     }
 
     // Create a new project
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @PostMapping()
-    public ResponseEntity<Object> createProject(@RequestBody ProjectRequest projectRequest) {
+    public ResponseEntity<Object> createProject(@RequestBody ProjectRequest projectRequest,
+                                                @AuthenticationPrincipal AuthenticatedUser currentUser) {
         Project project = new Project();
 
         // Set project properties
@@ -49,20 +76,11 @@ public class ProjectController {
             project.setStatus(projectRequest.getStatus());  // Use provided status
         }
 
-        // Extract the email from the JWT token
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-
-        // Fetch the user ID dynamically
-        try {
-            int userId = userService.getUserIdByEmail(email);
-            project.setCreatedBy(userId);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Unable to find user ID for email: " + email);
-        }
+        // The creator comes from the authenticated principal, already loaded by the JWT filter
+        project.setCreatedBy(currentUser.getId());
 
         // Save the project using projectService
-        Project createdProject = projectService.createProject(project);
+        ProjectResponse createdProject = projectService.createProject(project);
 
         // Return the created project along with a success message
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProject);  // Returning the created project
@@ -73,19 +91,20 @@ public class ProjectController {
     // Get project by ID
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    public ResponseEntity<Project> getProjectById(@PathVariable int id) {
-        return projectService.getProjectById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getProjectById(@PathVariable int id, WebRequest request) {
+        return jsonResponseCache.get(request, "project:" + id, resourceVersions.project(id),
+                () -> projectService.getProjectById(id).orElse(null));
     }
 
     // Update a project
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<Project> updateProject(@PathVariable int id, @RequestBody Project project) {
+    public ResponseEntity<ProjectResponse> updateProject(@PathVariable int id, @RequestBody Project project) {
         try {
-            Project updatedProject = projectService.updateProject(id, project);
+            ProjectResponse updatedProject = projectService.updateProject(id, project);
             return ResponseEntity.ok(updatedProject);
+        } catch (VersionConflictException e) {
+            throw e;  // 409 with the current project, see GlobalExceptionHandler
         } catch (CustomException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);  // Return 400 for bad requests
         } catch (Exception e) {
@@ -94,25 +113,141 @@ public class ProjectController {
     }
 
 
-    // Delete a project
+    // Partially update a project: only the fields present in the body, as one UPDATE (e.g. {"status": "COMPLETED"})
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Void> patchProject(@PathVariable int id, @Valid @RequestBody ProjectPatchRequest patch) {
+        projectService.patchProject(id, patch);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Move many projects to a new status with one UPDATE, optionally cascading to their tasks:
+    // {"currentStatus": "IN_PROGRESS", "createdBy": 3, "newStatus": "COMPLETED", "taskStatus": "DONE"} (or "ids": [...])
+    @PatchMapping("/bulk/status")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<BulkStatusResult> updateProjectStatuses(@Valid @RequestBody BulkStatusRequest request) {
+        return ResponseEntity.ok(projectService.updateStatus(request));
+    }
+
+    // Delete a project with its tasks and assignments.
+    // Large projects are deleted in the background: 202 with the progress, polled at the Location URL
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<String> deleteProject(@PathVariable int id) {
-        projectService.deleteProject(id);
+    public ResponseEntity<?> deleteProject(@PathVariable int id) {
+        ProjectDeletionProgress progress = projectService.deleteProject(id);
+        if (progress.isRunning()) {
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/deletion").build().toUri();
+            return ResponseEntity.accepted().location(location).body(progress);
+        }
         return ResponseEntity.ok("Project deleted successfully");
     }
 
+    // Progress of a background project deletion
+    @GetMapping("/{id}/deletion")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ProjectDeletionProgress> getDeletionProgress(@PathVariable int id) {
+        return projectService.getDeletionProgress(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // Find projects by status
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    public ResponseEntity<List<Project>> getProjectsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(projectService.getProjectsByStatus(status));
+    public ResponseEntity<byte[]> getProjectsByStatus(@PathVariable String status, WebRequest request) {
+        return jsonResponseCache.get(request, "projects:status:" + status, resourceVersions.projects(),
+                () -> projectService.getProjectsByStatus(status));
     }
 
     // Find projects created by a specific user
     @GetMapping("/creator/{createdBy}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    public ResponseEntity<List<Project>> getProjectsByCreator(@PathVariable int createdBy) {
-        return ResponseEntity.ok(projectService.getProjectsByCreator(createdBy));
+    public ResponseEntity<byte[]> getProjectsByCreator(@PathVariable int createdBy, WebRequest request) {
+        return jsonResponseCache.get(request, "projects:creator:" + createdBy, resourceVersions.projects(),
+                () -> projectService.getProjectsByCreator(createdBy));
+    }
+
+    // Summary lists: id, name, status, creator and creation time only (no TEXT description)
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<byte[]> getProjectSummaries(WebRequest request) {
+        return jsonResponseCache.get(request, "summaries", resourceVersions.projects(),
+                projectService::getProjectSummaries);
+    }
+
+    @GetMapping("/status/{status}/summary")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<byte[]> getProjectSummariesByStatus(@PathVariable String status, WebRequest request) {
+        return jsonResponseCache.get(request, "summaries:status:" + status, resourceVersions.projects(),
+                () -> projectService.getProjectSummariesByStatus(status));
+    }
+
+    @GetMapping("/creator/{createdBy}/summary")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<byte[]> getProjectSummariesByCreator(@PathVariable int createdBy, WebRequest request) {
+        return jsonResponseCache.get(request, "summaries:creator:" + createdBy, resourceVersions.projects(),
+                () -> projectService.getProjectSummariesByCreator(createdBy));
+    }
+
+    // Paged summaries: ?page=0&size=20&sort=createdAt,desc&count=false (count=false skips the total count query)
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<PagedResponse<ProjectSummary>> getProjectsPage(
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(projectService.getProjectsPage(pageable, count));
+    }
+
+    @GetMapping("/status/{status}/page")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<PagedResponse<ProjectSummary>> getProjectsByStatusPage(
+            @PathVariable String status,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(projectService.getProjectsByStatusPage(status, pageable, count));
+    }
+
+    @GetMapping("/creator/{createdBy}/page")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<PagedResponse<ProjectSummary>> getProjectsByCreatorPage(
+            @PathVariable int createdBy,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(projectService.getProjectsByCreatorPage(createdBy, pageable, count));
+    }
+
+    // Keyset variants, newest first: ?size=20&afterCreatedAt=<epoch ms>&afterId=<id> (cursor taken from the previous page)
+    @GetMapping("/seek")
+    @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<KeysetResponse<ProjectSummary>> getProjectsAfter(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long afterCreatedAt,
+            @RequestParam(required = false) Integer afterId) {
+        return ResponseEntity.ok(projectService.getProjectsAfter(null, null, afterCreatedAt, afterId, seekSize(size)));
+    }
+
+    @GetMapping("/status/{status}/seek")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<KeysetResponse<ProjectSummary>> getProjectsByStatusAfter(
+            @PathVariable String status,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long afterCreatedAt,
+            @RequestParam(required = false) Integer afterId) {
+        return ResponseEntity.ok(projectService.getProjectsAfter(status, null, afterCreatedAt, afterId, seekSize(size)));
+    }
+
+    @GetMapping("/creator/{createdBy}/seek")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<KeysetResponse<ProjectSummary>> getProjectsByCreatorAfter(
+            @PathVariable int createdBy,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long afterCreatedAt,
+            @RequestParam(required = false) Integer afterId) {
+        return ResponseEntity.ok(projectService.getProjectsAfter(null, createdBy, afterCreatedAt, afterId, seekSize(size)));
+    }
+
+    // Clamp the requested keyset page size to [1, MAX_SEEK_SIZE]
+    private int seekSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SEEK_SIZE));
     }
 }
@@ -1,8 +1,12 @@
 package com.projectmanagement.controller;
 
+import com.projectmanagement.dto.TaskPatchRequest;
+import com.projectmanagement.dto.TaskResponse;
 import com.projectmanagement.model.Task;
 import com.projectmanagement.service.TaskService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,13 +20,13 @@ public class TaskController {
 
     // Get all tasks
     @GetMapping
-    public List<Task> getAllTasks() {
+    public List<TaskResponse> getAllTasks() {
         return taskService.getAllTasks();
     }
 
     // Create a new task
     @PostMapping
-    public Task createTask(@RequestBody Task task) {
+    public TaskResponse createTask(@RequestBody Task task) {
         // Set createdAt field to current date/time
         task.setCreatedAt(new java.util.Date());
         return taskService.createTask(task);  // Delegate to service
@@ -30,18 +34,25 @@ public class TaskController {
 
     // Get task by ID
     @GetMapping("/{id}")
-    public Task getTaskById(@PathVariable int id) {
-        // Handle Optional<Task> returned by taskService.getTaskById(id)
+    public TaskResponse getTaskById(@PathVariable int id) {
+        // Handle Optional<TaskResponse> returned by taskService.getTaskById(id)
         return taskService.getTaskById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found with ID: " + id));
     }
 
     // Update a task
     @PutMapping("/{id}")
-    public Task updateTask(@PathVariable int id, @RequestBody Task task) {
+    public TaskResponse updateTask(@PathVariable int id, @RequestBody Task task) {
         return taskService.updateTask(id, task); // Delegate to service
     }
 
+    // Partially update a task: only the fields present in the body, as one UPDATE (e.g. {"status": "DONE"})
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchTask(@PathVariable int id, @Valid @RequestBody TaskPatchRequest patch) {
+        taskService.patchTask(id, patch);
+        return ResponseEntity.noContent().build();
+    }
+
     // Delete a task
     @DeleteMapping("/{id}")
     public void deleteTask(@PathVariable int id) {
@@ -1,27 +1,40 @@
 package com.projectmanagement.controller;
 
+import com.projectmanagement.dto.LogoutRequest;
 import com.projectmanagement.dto.PasswordChangeRequest;
 import com.projectmanagement.dto.UserDetailsResponse;
+import com.projectmanagement.dto.UserPatchRequest;
+import com.projectmanagement.exception.AuthenticationException;
 import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.exception.ServiceOverloadedException;
+import com.projectmanagement.exception.VersionConflictException;
 import com.projectmanagement.model.AuthRequest;
 import com.projectmanagement.model.User;
 import com.projectmanagement.security.JwtUtil;
-import com.projectmanagement.service.CustomUserDetailsService;
+import com.projectmanagement.security.TokenRevocationList;
+import com.projectmanagement.service.RefreshTokenService;
 import com.projectmanagement.service.UserService;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.AuthenticatedUser;
+import com.projectmanagement.security.UserCredentials;
+import com.projectmanagement.security.JwtClaims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -45,10 +58,19 @@ public class UserController {
     private AuthenticationManager authenticationManager;
 
     @Autowired
-    private CustomUserDetailsService customUserDetailsService;
+    private UserRepository userRepository; // Ensure this is injected into your class
 
     @Autowired
-    private UserRepository userRepository; // Ensure this is injected into your class
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    private static final String REFRESH_COOKIE = "refresh_token";
+
+    // Off only for local development over plain HTTP on a host other than localhost
+    @Value("${jwt.refresh-token.cookie-secure:true}")
+    private boolean refreshCookieSecure;
 
 
     // Test endpoint (for testing purposes)
@@ -66,35 +88,106 @@ public class UserController {
             }
             userService.createUser(user); // UserService handles password encoding
             return new ResponseEntity<>("User registered successfully", HttpStatus.CREATED);
+        } catch (ServiceOverloadedException e) {
+            throw e;  // 503 with Retry-After from GlobalExceptionHandler
         } catch (Exception e) {
             e.printStackTrace();
             return new ResponseEntity<>("Error registering user", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
-    // Login endpoint that returns a JWT token
+    // Login endpoint that returns a JWT access token and sets the refresh token cookie
     @PostMapping("auth/login")
     public ResponseEntity<String> login(@RequestBody AuthRequest authRequest) {
         try {
-            authenticationManager.authenticate(
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.getEmail(), authRequest.getPassword())
             );
 
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(authRequest.getEmail());
-            String token = jwtUtil.generateToken(userDetails);
-            return new ResponseEntity<>(token, HttpStatus.OK);
+            // The principal the provider loaded to check the password; no second lookup
+            AuthenticatedUser user = ((UserCredentials) authentication.getPrincipal()).getUser();
+            String token = jwtUtil.generateToken(user);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, refreshCookie(refreshTokenService.issue(user.getId()), refreshTokenService.getTtl()).toString())
+                    .body(token);
+        } catch (ServiceOverloadedException e) {
+            throw e;  // Not a credentials problem; 503 with Retry-After from GlobalExceptionHandler
         } catch (Exception e) {
             return new ResponseEntity<>("Invalid credentials", HttpStatus.UNAUTHORIZED);
         }
     }
 
+    // Trades the refresh token cookie for a new access token and a rotated cookie, without the password
+    @PostMapping("auth/refresh")
+    public ResponseEntity<String> refresh(@CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken) {
+        if (refreshToken == null) {
+            return new ResponseEntity<>("No refresh token", HttpStatus.UNAUTHORIZED);
+        }
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+            // Deleting a user deletes its refresh tokens, so the user exists
+            User user = userService.getUserById(rotation.userId());
+            String token = jwtUtil.generateToken(AuthenticatedUser.from(user));
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, refreshCookie(rotation.token(), refreshTokenService.getTtl()).toString())
+                    .body(token);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.SET_COOKIE, refreshCookie("", Duration.ZERO).toString())
+                    .body(e.getMessage());
+        }
+    }
+
+    // Logout endpoint: ends the refresh token's session and revokes the access token until it would have expired.
+    // The access token comes in the body, or as Authorization from older clients; the JWT filter skips this endpoint
+    @PostMapping("auth/logout")
+    public ResponseEntity<String> logout(@RequestBody(required = false) LogoutRequest logoutRequest,
+                                         @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+                                         @CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        String clearCookie = refreshCookie("", Duration.ZERO).toString();
+        String token = logoutRequest != null && logoutRequest.token() != null ? logoutRequest.token()
+                : authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ? authorizationHeader.substring(7)
+                : null;
+        if (token == null) {
+            return refreshToken != null
+                    ? ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, clearCookie).body("Logged out")
+                    : ResponseEntity.badRequest().header(HttpHeaders.SET_COOKIE, clearCookie).body("No token to revoke");
+        }
+        JwtClaims claims;
+        try {
+            claims = jwtUtil.verify(token);
+        } catch (RuntimeException e) {
+            // Expired or never valid: it is rejected anyway, so there is nothing left to revoke
+            return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, clearCookie).body("Logged out");
+        }
+        if (!tokenRevocationList.revoke(claims)) {
+            return ResponseEntity.badRequest().header(HttpHeaders.SET_COOKIE, clearCookie)
+                    .body("Token cannot be revoked, it expires at " + claims.getExpiration());
+        }
+        return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, clearCookie).body("Logged out");
+    }
+
+    // Only sent to the auth endpoints and never readable by scripts; an empty value with max-age 0 clears it
+    private ResponseCookie refreshCookie(String value, Duration maxAge) {
+        return ResponseCookie.from(REFRESH_COOKIE, value)
+                .httpOnly(true)
+                .secure(refreshCookieSecure)
+                .sameSite("Strict")
+                .path("/api/users/auth")
+                .maxAge(maxAge)
+                .build();
+    }
+
     // Get all users (secured)
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @GetMapping
     public List<UserDetailsResponse> getAllUsers() {
         return userService.getAllUsers()
                 .stream()
-                .map(user -> new UserDetailsResponse(user.getId(), user.getEmail(), user.getName(), user.getRole()))
+                .map(user -> new UserDetailsResponse(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getVersion()))
                 .collect(Collectors.toList());
     }
 
@@ -110,7 +203,7 @@ public class UserController {
     @GetMapping("/{id}")
     public UserDetailsResponse getUserById(@PathVariable int id) {
         User user = userService.getUserById(id);
-        return new UserDetailsResponse(user.getId(), user.getEmail(), user.getName(), user.getRole());
+        return new UserDetailsResponse(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getVersion());
     }
 
     // Update a user (secured)
@@ -126,6 +219,8 @@ public class UserController {
         try {
             User updatedUser = userService.updateUser(id, user);
             return ResponseEntity.ok(updatedUser);
+        } catch (VersionConflictException e) {
+            throw e;  // 409 with the current user, see GlobalExceptionHandler
         } catch (CustomException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (Exception e) {
@@ -133,6 +228,24 @@ public class UserController {
         }
     }
 
+    // Partially update name, email or role; users may patch themselves, only admins may patch others or change roles
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<?> patchUser(@PathVariable int id, @Valid @RequestBody UserPatchRequest patch,
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        boolean admin = "ADMIN".equals(currentUser.getRole());
+        if (!admin && (currentUser.getId() != id || patch.role() != null)) {
+            throw new AccessDeniedException("Only admins may change other users or roles");
+        }
+        try {
+            User updated = userService.patchUser(id, patch);
+            return ResponseEntity.ok(new UserDetailsResponse(updated.getId(), updated.getEmail(), updated.getName(),
+                    updated.getRole(), updated.getVersion()));
+        } catch (CustomException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}/change-password")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     public ResponseEntity<String> changePassword(
@@ -143,6 +256,8 @@ public class UserController {
 
             userService.updatePassword(id, passwordChangeRequest);
             return ResponseEntity.ok("Password updated successfully.");
+        } catch (ServiceOverloadedException e) {
+            throw e;  // 503 with Retry-After from GlobalExceptionHandler
         } catch (CustomException e) {
             logger.error("Business error while changing password: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + e.getMessage());
@@ -168,39 +283,32 @@ public class UserController {
         }
     }
 
-    // Get details of the authenticated user
+    // Get details of the authenticated user (built from the principal, no database access)
     @GetMapping("auth/me")
-    public UserDetailsResponse getAuthenticatedUser(Principal principal) {
-        String email = principal.getName();
-        return userService.getUserDetailsByEmail(email);
+    public ResponseEntity<UserDetailsResponse> getAuthenticatedUser(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        // auth/** is public, so an anonymous caller reaches this endpoint without a principal
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(toUserDetailsResponse(currentUser));
     }
 
 //    // Get user details from token
 //    @GetMapping("auth/me/token")
 //    public UserDetailsResponse getUserFromToken(@RequestHeader("Authorization") String token) {
 //        String jwtToken = token.substring(7); // Remove "Bearer " prefix
-//        String email = jwtUtil.extractUsername(jwtToken);
+//        String email = jwtUtil.verify(jwtToken).getSubject();
 //        return userService.getUserDetailsByEmail(email);
 //    }
 
     // Get details of the authenticated user for profile page
     @GetMapping("/profile")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')") // Allow both ADMIN and USER roles
-    public ResponseEntity<UserDetailsResponse> getUserProfile(Authentication authentication) {
-        try {
-            // Debugging Authentication
-            System.out.println("Authentication Object: " + authentication);
-
-            String email = authentication.getName();
-            UserDetailsResponse userDetails = userService.getUserDetailsByEmail(email);
-
-            return ResponseEntity.ok(userDetails);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(null); // Return an error response for unexpected failures
-        }
+    public ResponseEntity<UserDetailsResponse> getUserProfile(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(toUserDetailsResponse(currentUser));
     }
 
-
-
+    private UserDetailsResponse toUserDetailsResponse(AuthenticatedUser user) {
+        return new UserDetailsResponse(user.getId(), user.getEmail(), user.getName(), user.getRole());
+    }
 }
@@ -0,0 +1,43 @@
+package com.projectmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkAssignmentRequest {
+
+    @NotNull(message = "Project ID is required.")
+    private Integer projectId;
+
+    @NotEmpty(message = "At least one user ID is required.")
+    @Size(max = 1000, message = "At most 1000 users can be processed per request.")
+    private List<@NotNull Integer> userIds;
+
+    // Default constructor
+    public BulkAssignmentRequest() {}
+
+    // Constructor
+    public BulkAssignmentRequest(Integer projectId, List<Integer> userIds) {
+        this.projectId = projectId;
+        this.userIds = userIds;
+    }
+
+    // Getters and setters
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Integer projectId) {
+        this.projectId = projectId;
+    }
+
+    public List<Integer> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Integer> userIds) {
+        this.userIds = userIds;
+    }
+}
@@ -0,0 +1,73 @@
+package com.projectmanagement.dto;
+
+import java.util.Date;
+
+// Outcome of a bulk assign/remove for a single user
+public class BulkAssignmentResult {
+
+    // Possible values of `status`
+    public static final String ASSIGNED = "ASSIGNED";
+    public static final String ALREADY_ASSIGNED = "ALREADY_ASSIGNED";
+    public static final String USER_NOT_FOUND = "USER_NOT_FOUND";
+    public static final String REMOVED = "REMOVED";
+    public static final String NOT_ASSIGNED = "NOT_ASSIGNED";
+
+    private int userId;
+    private String status;
+    private Integer assignmentId; // Set for ASSIGNED and ALREADY_ASSIGNED
+    private String name;          // User's name, when the user exists
+    private Date assignedAt;
+
+    // Default constructor
+    public BulkAssignmentResult() {}
+
+    // Constructor
+    public BulkAssignmentResult(int userId, String status, Integer assignmentId, String name, Date assignedAt) {
+        this.userId = userId;
+        this.status = status;
+        this.assignmentId = assignmentId;
+        this.name = name;
+        this.assignedAt = assignedAt;
+    }
+
+    // Getters and setters
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getAssignmentId() {
+        return assignmentId;
+    }
+
+    public void setAssignmentId(Integer assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Date getAssignedAt() {
+        return assignedAt;
+    }
+
+    public void setAssignedAt(Date assignedAt) {
+        this.assignedAt = assignedAt;
+    }
+}
@@ -0,0 +1,23 @@
+package com.projectmanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Body of PATCH /api/projects/bulk/status. The filters are combined with AND and at least one is required;
+ * projects already in {@code newStatus} are left alone. With {@code taskStatus} set, the tasks of every
+ * project that changes are moved to that status in the same transaction.
+ */
+public record BulkStatusRequest(@Size(max = 1000) List<@NotNull Integer> ids,
+                                @Size(min = 1, max = 20) String currentStatus,
+                                Integer createdBy,
+                                @NotBlank @Size(max = 20) String newStatus,
+                                @Size(min = 1, max = 255) String taskStatus) {
+
+    public boolean hasFilter() {
+        return ids != null || currentStatus != null || createdBy != null;
+    }
+}
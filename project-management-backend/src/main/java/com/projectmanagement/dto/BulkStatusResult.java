@@ -0,0 +1,5 @@
+package com.projectmanagement.dto;
+
+// Rows changed by a bulk status transition
+public record BulkStatusResult(int projectsUpdated, int tasksUpdated) {
+}
@@ -0,0 +1,69 @@
+package com.projectmanagement.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) list endpoint. Pass {@code nextAfterCreatedAt} and
+ * {@code nextAfterId} back as {@code afterCreatedAt}/{@code afterId} to fetch the next page;
+ * both are null on the last page.
+ */
+public class KeysetResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private Long nextAfterCreatedAt; // epoch milliseconds of the last row's created_at
+    private Integer nextAfterId;     // project_id of the last row
+
+    // Default constructor
+    public KeysetResponse() {}
+
+    // Constructor to initialize fields
+    public KeysetResponse(List<T> content, int size, boolean hasNext, Long nextAfterCreatedAt, Integer nextAfterId) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextAfterCreatedAt = nextAfterCreatedAt;
+        this.nextAfterId = nextAfterId;
+    }
+
+    // Getters and setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Long getNextAfterCreatedAt() {
+        return nextAfterCreatedAt;
+    }
+
+    public void setNextAfterCreatedAt(Long nextAfterCreatedAt) {
+        this.nextAfterCreatedAt = nextAfterCreatedAt;
+    }
+
+    public Integer getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Integer nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+}
@@ -0,0 +1,8 @@
+package com.projectmanagement.dto;
+
+/**
+ * Optional body of POST /api/users/auth/logout: the access token to revoke along with the refresh token's session.
+ * Sent in the body rather than as Authorization, because the token may already have expired.
+ */
+public record LogoutRequest(String token) {
+}
@@ -0,0 +1,91 @@
+package com.projectmanagement.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * One page of a list endpoint. When the total count is disabled the page is backed
+ * by a {@link Slice} and {@code totalElements}/{@code totalPages} are null.
+ */
+public class PagedResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean hasNext;
+
+    // Default constructor
+    public PagedResponse() {}
+
+    // Constructor to initialize fields
+    public PagedResponse(List<T> content, int page, int size, Long totalElements, Integer totalPages, boolean hasNext) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.hasNext = hasNext;
+    }
+
+    // Build from a Page (count query executed) or a Slice (no count query)
+    public static <T> PagedResponse<T> of(Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            return new PagedResponse<>(page.getContent(), page.getNumber(), page.getSize(),
+                    page.getTotalElements(), page.getTotalPages(), page.hasNext());
+        }
+        return new PagedResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                null, null, slice.hasNext());
+    }
+
+    // Getters and setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(Integer totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Date;
 public class ProjectAssignmentWithUsername {
     private int assignmentId;
     private int projectId;
+    private int userId;
     private String name; // Updated from `username` to `name`
     private Date assignedAt;
 
@@ -16,6 +17,12 @@ public class ProjectAssignmentWithUsername {
         this.assignedAt = assignedAt;
     }
 
+    // Constructor including the user ID (used by the members join query)
+    public ProjectAssignmentWithUsername(int assignmentId, int projectId, int userId, String name, Date assignedAt) {
+        this(assignmentId, projectId, name, assignedAt);
+        this.userId = userId;
+    }
+
     // Getters and Setters
     public int getAssignmentId() {
         return assignmentId;
@@ -33,6 +40,14 @@ public class ProjectAssignmentWithUsername {
         this.projectId = projectId;
     }
 
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
     public String getName() { // Updated from `getUsername` to `getName`
         return name;
     }
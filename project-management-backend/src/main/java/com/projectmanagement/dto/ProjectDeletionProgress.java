@@ -0,0 +1,43 @@
+package com.projectmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a project deletion, returned by DELETE /api/projects/{id} when the deletion runs in the
+ * background and by GET /api/projects/{id}/deletion while and after it runs.
+ */
+public record ProjectDeletionProgress(int projectId, String state,
+                                      long tasksTotal, long tasksDeleted,
+                                      long assignmentsTotal, long assignmentsDeleted,
+                                      Instant startedAt, Instant finishedAt, String error) {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    public static ProjectDeletionProgress started(int projectId, long tasksTotal, long assignmentsTotal) {
+        return new ProjectDeletionProgress(projectId, RUNNING, tasksTotal, 0, assignmentsTotal, 0, Instant.now(), null, null);
+    }
+
+    @JsonIgnore
+    public boolean isRunning() {
+        return RUNNING.equals(state);
+    }
+
+    public ProjectDeletionProgress plus(long tasks, long assignments) {
+        return new ProjectDeletionProgress(projectId, state, tasksTotal, tasksDeleted + tasks,
+                assignmentsTotal, assignmentsDeleted + assignments, startedAt, null, null);
+    }
+
+    public ProjectDeletionProgress completed() {
+        return new ProjectDeletionProgress(projectId, COMPLETED, tasksTotal, tasksDeleted,
+                assignmentsTotal, assignmentsDeleted, startedAt, Instant.now(), null);
+    }
+
+    public ProjectDeletionProgress failed(String error) {
+        return new ProjectDeletionProgress(projectId, FAILED, tasksTotal, tasksDeleted,
+                assignmentsTotal, assignmentsDeleted, startedAt, Instant.now(), error);
+    }
+}
@@ -0,0 +1,17 @@
+package com.projectmanagement.dto;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Body of PATCH /api/projects/{id}. Only non-null fields are written; {@code version}, when given,
+ * must match the stored one (see ProjectResponse.version).
+ */
+public record ProjectPatchRequest(@Size(min = 1, max = 150) String projectName,
+                                  String description,
+                                  @Size(min = 1, max = 20) String status,
+                                  Long version) {
+
+    public boolean isEmpty() {
+        return projectName == null && description == null && status == null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.projectmanagement.dto;
+
+import com.projectmanagement.model.Project;
+
+import java.util.Date;
+
+/**
+ * Full project as returned by the project endpoints; same JSON shape as the {@link Project} entity.
+ * Immutable (createdAt is copied in and out), so one instance can be cached and shared by every request.
+ * {@code version} is the optimistic lock value; send it back with an update to detect concurrent edits.
+ */
+public record ProjectResponse(int id, String projectName, String description, int createdBy, Date createdAt,
+                              String status, Long version) {
+
+    public ProjectResponse {
+        createdAt = createdAt != null ? new Date(createdAt.getTime()) : null;
+    }
+
+    @Override
+    public Date createdAt() {
+        return createdAt != null ? new Date(createdAt.getTime()) : null;
+    }
+
+    public static ProjectResponse from(Project project) {
+        return new ProjectResponse(project.getId(), project.getProjectName(), project.getDescription(),
+                project.getCreatedBy(), project.getCreatedAt(), project.getStatus(), project.getVersion());
+    }
+}
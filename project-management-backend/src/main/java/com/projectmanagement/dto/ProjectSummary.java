@@ -0,0 +1,10 @@
+package com.projectmanagement.dto;
+
+import java.util.Date;
+
+/**
+ * List-view projection of a project. Selected column by column, so the TEXT
+ * {@code description} is never read; use GET /api/projects/{id} for the full project.
+ */
+public record ProjectSummary(int id, String projectName, String status, int createdBy, Date createdAt) {
+}
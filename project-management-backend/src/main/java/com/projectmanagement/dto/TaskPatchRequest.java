@@ -0,0 +1,17 @@
+package com.projectmanagement.dto;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Body of PATCH /api/auth/tasks/{id}. Only non-null fields are written; {@code version}, when given,
+ * must match the stored one (see TaskResponse.version).
+ */
+public record TaskPatchRequest(@Size(min = 1, max = 150) String taskName,
+                               @Size(min = 1, max = 255) String status,
+                               Integer assignedToId,
+                               Long version) {
+
+    public boolean isEmpty() {
+        return taskName == null && status == null && assignedToId == null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.projectmanagement.dto;
+
+import com.projectmanagement.model.Task;
+
+import java.util.Date;
+
+/**
+ * Read model returned by the task endpoints. Carries only the ids and display names of the
+ * task's project and assignee instead of the full Project/User entities.
+ * {@code version} is the optimistic lock value; send it back with an update to detect concurrent edits.
+ */
+public record TaskResponse(int id, String taskName, String status,
+                           int projectId, String projectName,
+                           int assignedToId, String assignedToName,
+                           Date createdAt, Long version) {
+
+    // Map a task whose project and assignee are already loaded
+    public static TaskResponse from(Task task) {
+        return new TaskResponse(task.getId(), task.getTaskName(), task.getStatus(),
+                task.getProject().getId(), task.getProject().getProjectName(),
+                task.getAssignedTo().getId(), task.getAssignedTo().getName(),
+                task.getCreatedAt(), task.getVersion());
+    }
+}
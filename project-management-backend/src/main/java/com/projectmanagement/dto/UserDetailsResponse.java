@@ -1,11 +1,17 @@
 package com.projectmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class UserDetailsResponse {
     private int id;  // Added field for user ID
     private String email;
     private String name;
     private String role;
 
+    // Optimistic lock value for PUT /api/users/{id}; absent when built from the token principal
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
+
     // Default constructor
     public UserDetailsResponse() {}
 
@@ -17,6 +23,11 @@ public class UserDetailsResponse {
         this.role = role;
     }
 
+    public UserDetailsResponse(int id, String email, String name, String role, Long version) {
+        this(id, email, name, role);
+        this.version = version;
+    }
+
     // Getters and setters
     public int getId() {
         return id;
@@ -49,4 +60,12 @@ public class UserDetailsResponse {
     public void setRole(String role) {
         this.role = role;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
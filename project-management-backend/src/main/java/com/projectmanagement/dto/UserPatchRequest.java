@@ -0,0 +1,18 @@
+package com.projectmanagement.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Body of PATCH /api/users/{id}. Only non-null fields are written; the password has its own endpoint.
+ * {@code version}, when given, must match the stored one (see UserDetailsResponse.version).
+ */
+public record UserPatchRequest(@Size(min = 1, max = 100) String name,
+                               @Email @Size(min = 1, max = 100) String email,
+                               @Size(min = 1, max = 255) String role,
+                               Long version) {
+
+    public boolean isEmpty() {
+        return name == null && email == null && role == null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.projectmanagement.exception;
+
+/**
+ * Thrown when a bounded resource (e.g. the password hashing executor) is saturated.
+ * Answered with 503 and a Retry-After header by {@link GlobalExceptionHandler}.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.projectmanagement.exception;
+
+/**
+ * An update was based on an outdated version of the entity. Answered with 409 and,
+ * when known, the entity's current state so the client can merge and retry.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    private final Object current;
+
+    public VersionConflictException(String message, Object current) {
+        super(message);
+        this.current = current;
+    }
+
+    public Object getCurrent() {
+        return current;
+    }
+}
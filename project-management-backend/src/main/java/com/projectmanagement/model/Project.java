@@ -3,14 +3,26 @@ package com.projectmanagement.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Date;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")  // Second-level cache, see hibernate-jcache.conf
+@DynamicUpdate  // UPDATE only the changed columns (e.g. not the TEXT description when only the status changes)
+@Table(name = "projects",
+        // Lists are filtered by at most one of these and ordered newest first (see V2__query_indexes.sql)
+        indexes = {
+                @Index(name = "idx_projects_created_at", columnList = "created_at, project_id"),
+                @Index(name = "idx_projects_status_created_at", columnList = "status, created_at, project_id"),
+                @Index(name = "idx_projects_created_by_created_at", columnList = "created_by, created_at, project_id")
+        })
 public class Project {
 
     @Id
@@ -34,4 +46,9 @@ public class Project {
 
     @Column(name = "status", nullable = false, length = 20)
     private String status = "IN_PROGRESS"; // Default status
+
+    // Optimistic lock, incremented on every update; null until the project is first saved
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
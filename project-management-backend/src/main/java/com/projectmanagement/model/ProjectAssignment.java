@@ -3,6 +3,8 @@ package com.projectmanagement.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.util.Date;
@@ -10,7 +12,13 @@ import java.util.Date;
 @Getter
 @Setter
 @Entity
-@Table(name = "project_assignments")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projectAssignments")  // Second-level cache, see hibernate-jcache.conf
+@Table(name = "project_assignments",
+        // Prevents duplicate assignments and serves the (project_id, user_id) and project_id lookups
+        uniqueConstraints = @UniqueConstraint(name = "uk_project_assignments_project_user", columnNames = {"project_id", "user_id"}),
+        // Serves findByUserId
+        indexes = @Index(name = "idx_project_assignments_user", columnList = "user_id"))
 public class ProjectAssignment {
 
     @Id
@@ -0,0 +1,47 @@
+package com.projectmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Stored form of a refresh token (see V4__refresh_tokens.sql); the token itself is never stored, only its SHA-256.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+        })
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "token_id")
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private int userId;
+
+    // Shared by every token rotated from the same login
+    @Column(name = "family_id", nullable = false)
+    private long familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date expiresAt;
+
+    // Set once the token has been exchanged; presenting it again is a replay
+    @Column(name = "rotated_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date rotatedAt;
+}
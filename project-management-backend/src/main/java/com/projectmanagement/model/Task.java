@@ -1,11 +1,18 @@
 package com.projectmanagement.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Date;
 
 @Entity
-@Table(name = "tasks")
+@DynamicUpdate  // UPDATE only the changed columns
+@Table(name = "tasks",
+        indexes = {
+                @Index(name = "idx_tasks_project_status", columnList = "project_id, status"),
+                @Index(name = "idx_tasks_assigned_to", columnList = "assigned_to"),
+                @Index(name = "idx_tasks_status", columnList = "status")
+        })
 public class Task {
 
     @Id
@@ -19,11 +26,11 @@ public class Task {
     @Column(name = "status", nullable = false)
     private String status;  // Changed from enum to String
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to", nullable = false)
     private User assignedTo;
 
@@ -31,6 +38,11 @@ public class Task {
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
 
+    // Optimistic lock, incremented on every update; null until the task is first saved
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Getters and setters
     public int getId() {
         return id;
@@ -79,4 +91,12 @@ public class Task {
     public void setCreatedAt(Date createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -3,7 +3,10 @@ package com.projectmanagement.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
@@ -14,6 +17,9 @@ import java.util.Date;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")  // Second-level cache, see hibernate-jcache.conf
+@DynamicUpdate  // UPDATE only the changed columns (e.g. not the password hash when only the name changes)
 @Table(name = "users")
 public class User {
 
@@ -39,6 +45,11 @@ public class User {
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
 
+    // Optimistic lock, incremented on every update; null until the user is first saved
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Method to return authorities (roles) as GrantedAuthority
 
     public Collection<? extends GrantedAuthority> getAuthorities() {
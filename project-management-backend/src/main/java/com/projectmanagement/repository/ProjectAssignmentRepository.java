@@ -1,15 +1,58 @@
 package com.projectmanagement.repository;
 
+import com.projectmanagement.dto.ProjectAssignmentWithUsername;
 import com.projectmanagement.model.ProjectAssignment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProjectAssignmentRepository extends JpaRepository<ProjectAssignment, Integer> {
+public interface ProjectAssignmentRepository extends JpaRepository<ProjectAssignment, Integer>, ProjectAssignmentRepositoryCustom {
     List<ProjectAssignment> findByProjectId(int projectId);
     List<ProjectAssignment> findByUserId(int userId);
     boolean existsByProjectIdAndUserId(int projectId, int userId);
-    void deleteByProjectIdAndUserId(int projectId, int userId);
+    // Single DELETE statement; returns the number of removed rows (0 if the user was not assigned)
+    @Modifying
+    @Query("delete from ProjectAssignment a where a.projectId = :projectId and a.userId = :userId")
+    int deleteByProjectIdAndUserId(@Param("projectId") int projectId, @Param("userId") int userId);
     Optional<ProjectAssignment> findByProjectIdAndUserId(int projectId, int userId);
 
+    // Set-based variants used by the bulk endpoints
+    List<ProjectAssignment> findByProjectIdAndUserIdIn(int projectId, Collection<Integer> userIds);
+
+    @Modifying
+    @Query("delete from ProjectAssignment a where a.projectId = :projectId and a.userId in :userIds")
+    int deleteByProjectIdAndUserIdIn(@Param("projectId") int projectId, @Param("userIds") Collection<Integer> userIds);
+
+    // Project deletion: everything at once, or chunk by chunk by id for very large projects
+    long countByProjectId(int projectId);
+
+    @Modifying
+    @Query("delete from ProjectAssignment a where a.projectId = :projectId")
+    int deleteAllByProjectId(@Param("projectId") int projectId);
+
+    @Query("select a.assignmentId from ProjectAssignment a where a.projectId = :projectId order by a.assignmentId")
+    List<Integer> findIdsByProjectId(@Param("projectId") int projectId, Limit limit);
+
+    @Modifying
+    @Query("delete from ProjectAssignment a where a.assignmentId in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Members of a project joined with their user names in one query; the Slice variant skips the count
+    @Query(value = "select new com.projectmanagement.dto.ProjectAssignmentWithUsername(a.assignmentId, a.projectId, a.userId, u.name, a.assignedAt) " +
+            "from ProjectAssignment a join User u on u.id = a.userId where a.projectId = :projectId order by u.name, a.assignmentId",
+            countQuery = "select count(a) from ProjectAssignment a where a.projectId = :projectId")
+    Page<ProjectAssignmentWithUsername> findMembersByProjectId(@Param("projectId") int projectId, Pageable pageable);
+
+    @Query("select new com.projectmanagement.dto.ProjectAssignmentWithUsername(a.assignmentId, a.projectId, a.userId, u.name, a.assignedAt) " +
+            "from ProjectAssignment a join User u on u.id = a.userId where a.projectId = :projectId order by u.name, a.assignmentId")
+    Slice<ProjectAssignmentWithUsername> findMemberSliceByProjectId(@Param("projectId") int projectId, Pageable pageable);
 }
@@ -0,0 +1,19 @@
+package com.projectmanagement.repository;
+
+import java.util.Collection;
+import java.util.Date;
+
+// Bulk writes that bypass the entity manager; implemented in ProjectAssignmentRepositoryImpl
+public interface ProjectAssignmentRepositoryCustom {
+
+    /**
+     * Inserts one assignment per user as a single JDBC batch.
+     * (IDENTITY ids prevent Hibernate from batching these inserts itself.)
+     *
+     * @param projectId  ID of the project
+     * @param userIds    IDs of the users to assign
+     * @param assignedAt assignment timestamp stored on every row
+     * @return number of rows inserted
+     */
+    int batchInsert(int projectId, Collection<Integer> userIds, Date assignedAt);
+}
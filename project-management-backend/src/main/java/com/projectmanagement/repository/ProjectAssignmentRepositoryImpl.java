@@ -0,0 +1,37 @@
+package com.projectmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public class ProjectAssignmentRepositoryImpl implements ProjectAssignmentRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO project_assignments (project_id, user_id, assigned_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProjectAssignmentRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int batchInsert(int projectId, Collection<Integer> userIds, Date assignedAt) {
+        Timestamp timestamp = new Timestamp(assignedAt.getTime());
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Integer userId : userIds) {
+            rows.add(new Object[]{projectId, userId, timestamp});
+        }
+
+        int inserted = 0;
+        for (int count : jdbcTemplate.batchUpdate(INSERT_SQL, rows)) {
+            // With rewriteBatchedStatements the driver reports SUCCESS_NO_INFO (-2) per row
+            inserted += count < 0 ? 1 : count;
+        }
+        return inserted;
+    }
+}
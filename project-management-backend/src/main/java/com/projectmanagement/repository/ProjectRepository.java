@@ -1,20 +1,66 @@
 package com.projectmanagement.repository;
 
+import com.projectmanagement.dto.ProjectSummary;
 import com.projectmanagement.model.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Integer> {
+public interface ProjectRepository extends JpaRepository<Project, Integer>, ProjectRepositoryCustom {
 
-    // Find projects by the status (e.g., "In Progress", "Completed")
+    // Query cache region for the entity list lookups (see hibernate-jcache.conf)
+    String PROJECT_QUERIES_REGION = "projectQueries";
+
+    // Find projects by the status (e.g., "In Progress", "Completed"); result ids are query-cached, rows come from the entity cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = PROJECT_QUERIES_REGION)
+    })
     List<Project> findByStatus(String status);
 
-    // Find projects created by a specific user (using created_by field)
+    // Find projects created by a specific user (using created_by field); query-cached like findByStatus
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = PROJECT_QUERIES_REGION)
+    })
     List<Project> findByCreatedBy(int createdBy);
 
-    // You can add more custom queries if needed
+    // Summary projections: only the columns of ProjectSummary are selected (no TEXT description)
+    List<ProjectSummary> findSummariesBy(Sort sort);
+
+    List<ProjectSummary> findSummariesByStatus(String status, Sort sort);
+
+    List<ProjectSummary> findSummariesByCreatedBy(int createdBy, Sort sort);
+
+    // Paged summaries; the Slice variants skip the count query
+    Page<ProjectSummary> findPageBy(Pageable pageable);
+
+    Slice<ProjectSummary> findSliceBy(Pageable pageable);
 
+    Page<ProjectSummary> findPageByStatus(String status, Pageable pageable);
+
+    Slice<ProjectSummary> findSliceByStatus(String status, Pageable pageable);
+
+    Page<ProjectSummary> findPageByCreatedBy(int createdBy, Pageable pageable);
+
+    Slice<ProjectSummary> findSliceByCreatedBy(int createdBy, Pageable pageable);
+
+    // Deletes the row without loading it first (unlike deleteById); tasks and assignments must be gone already
+    @Modifying
+    @Query("delete from Project p where p.id = :id")
+    int deleteRowById(@Param("id") int id);
+
+    // You can add more custom queries if needed
 }
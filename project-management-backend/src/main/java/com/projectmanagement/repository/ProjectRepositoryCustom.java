@@ -0,0 +1,54 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.dto.BulkStatusResult;
+import com.projectmanagement.dto.ProjectSummary;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+// Queries that need dynamically built predicates; implemented in ProjectRepositoryImpl
+public interface ProjectRepositoryCustom {
+
+    /**
+     * Keyset (seek) pagination ordered by created_at DESC, project_id DESC.
+     * Rows strictly after the (afterCreatedAt, afterId) cursor are returned, so the cost of a page
+     * does not grow with its position in the list.
+     *
+     * @param status         optional status filter (null for any)
+     * @param createdBy      optional creator filter (null for any)
+     * @param afterCreatedAt created_at of the last row of the previous page (null for the first page)
+     * @param afterId        project_id of the last row of the previous page (null for the first page)
+     * @param limit          maximum number of rows to return
+     * @return at most {@code limit} project summaries
+     */
+    List<ProjectSummary> findAfter(String status, Integer createdBy, Date afterCreatedAt, Integer afterId, int limit);
+
+    /**
+     * Writes only the given columns with a single UPDATE and no prior read, incrementing the version.
+     * Null arguments leave their column untouched.
+     *
+     * @param id              project id
+     * @param projectName     new name, or null
+     * @param description     new description, or null
+     * @param status          new status, or null
+     * @param expectedVersion version the change is based on, or null to skip the check
+     * @return 1 if updated, 0 if the project does not exist or its version differs
+     */
+    int patch(int id, String projectName, String description, String status, Long expectedVersion);
+
+    /**
+     * Moves every matching project to {@code newStatus} with one UPDATE, skipping those already there.
+     * With {@code taskStatus} the tasks of those projects are updated first by a second UPDATE whose
+     * subquery uses the same filter, both in one transaction. Null filters match any project.
+     *
+     * @param ids           project ids, or null
+     * @param currentStatus current status, or null
+     * @param createdBy     creator id, or null
+     * @param newStatus     status to set
+     * @param taskStatus    status for the tasks of the changed projects, or null to leave tasks alone
+     * @return number of projects and tasks updated
+     */
+    BulkStatusResult updateStatus(Collection<Integer> ids, String currentStatus, Integer createdBy,
+                                  String newStatus, String taskStatus);
+}
@@ -0,0 +1,136 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.dto.BulkStatusResult;
+import com.projectmanagement.dto.ProjectSummary;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProjectSummary> findAfter(String status, Integer createdBy, Date afterCreatedAt, Integer afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProjectSummary> query = cb.createQuery(ProjectSummary.class);
+        Root<Project> project = query.from(Project.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(project.get("status"), status));
+        }
+        if (createdBy != null) {
+            predicates.add(cb.equal(project.get("createdBy"), createdBy));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            // (created_at, project_id) < (:afterCreatedAt, :afterId)
+            predicates.add(cb.or(
+                    cb.lessThan(project.<Date>get("createdAt"), afterCreatedAt),
+                    cb.and(
+                            cb.equal(project.get("createdAt"), afterCreatedAt),
+                            cb.lessThan(project.<Integer>get("id"), afterId))));
+        }
+
+        query.select(cb.construct(ProjectSummary.class,
+                        project.get("id"), project.get("projectName"), project.get("status"),
+                        project.get("createdBy"), project.get("createdAt")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(project.get("createdAt")), cb.desc(project.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int patch(int id, String projectName, String description, String status, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Project> update = cb.createCriteriaUpdate(Project.class);
+        Root<Project> project = update.from(Project.class);
+
+        if (projectName != null) {
+            update.set(project.<String>get("projectName"), projectName);
+        }
+        if (description != null) {
+            update.set(project.<String>get("description"), description);
+        }
+        if (status != null) {
+            update.set(project.<String>get("status"), status);
+        }
+        // Bumped like an entity update, so a concurrent full update still sees the change
+        update.set(project.<Long>get("version"), cb.sum(project.<Long>get("version"), 1L));
+
+        Predicate byId = cb.equal(project.get("id"), id);
+        update.where(expectedVersion != null
+                ? cb.and(byId, cb.equal(project.get("version"), expectedVersion))
+                : byId);
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public BulkStatusResult updateStatus(Collection<Integer> ids, String currentStatus, Integer createdBy,
+                                         String newStatus, String taskStatus) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        // Tasks first: afterwards the changed projects no longer differ from newStatus
+        int tasksUpdated = 0;
+        if (taskStatus != null) {
+            CriteriaUpdate<Task> taskUpdate = cb.createCriteriaUpdate(Task.class);
+            Root<Task> task = taskUpdate.from(Task.class);
+            Subquery<Integer> projectIds = taskUpdate.subquery(Integer.class);
+            Root<Project> project = projectIds.from(Project.class);
+            projectIds.select(project.get("id"))
+                    .where(statusFilter(cb, project, ids, currentStatus, createdBy, newStatus));
+
+            taskUpdate.set(task.<String>get("status"), taskStatus)
+                    .set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L))
+                    .where(task.get("project").get("id").in(projectIds),
+                            cb.notEqual(task.get("status"), taskStatus));
+            tasksUpdated = entityManager.createQuery(taskUpdate).executeUpdate();
+        }
+
+        CriteriaUpdate<Project> update = cb.createCriteriaUpdate(Project.class);
+        Root<Project> project = update.from(Project.class);
+        update.set(project.<String>get("status"), newStatus)
+                .set(project.<Long>get("version"), cb.sum(project.<Long>get("version"), 1L))
+                .where(statusFilter(cb, project, ids, currentStatus, createdBy, newStatus));
+        int projectsUpdated = entityManager.createQuery(update).executeUpdate();
+
+        return new BulkStatusResult(projectsUpdated, tasksUpdated);
+    }
+
+    // Projects selected by a bulk status change; the status predicate uses idx_projects_status_created_at
+    private static Predicate[] statusFilter(CriteriaBuilder cb, Root<Project> project, Collection<Integer> ids,
+                                            String currentStatus, Integer createdBy, String newStatus) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (ids != null) {
+            predicates.add(ids.isEmpty() ? cb.disjunction() : project.get("id").in(ids));
+        }
+        if (currentStatus != null) {
+            predicates.add(cb.equal(project.get("status"), currentStatus));
+        }
+        if (createdBy != null) {
+            predicates.add(cb.equal(project.get("createdBy"), createdBy));
+        }
+        predicates.add(cb.notEqual(project.get("status"), newStatus));
+        return predicates.toArray(new Predicate[0]);
+    }
+}
@@ -1,11 +1,45 @@
 package com.projectmanagement.repository;
 
+import com.projectmanagement.dto.TaskResponse;
 import com.projectmanagement.model.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Integer> {
-    // Custom query methods (if needed) can be added here
-}
+public interface TaskRepository extends JpaRepository<Task, Integer>, TaskRepositoryCustom {
+
+    // All tasks with their project and assignee names, in a single joined select
+    @Query("select new com.projectmanagement.dto.TaskResponse(t.id, t.taskName, t.status, " +
+            "p.id, p.projectName, u.id, u.name, t.createdAt, t.version) " +
+            "from Task t join t.project p join t.assignedTo u")
+    List<TaskResponse> findAllResponses();
+
+    // One task with its project and assignee names
+    @Query("select new com.projectmanagement.dto.TaskResponse(t.id, t.taskName, t.status, " +
+            "p.id, p.projectName, u.id, u.name, t.createdAt, t.version) " +
+            "from Task t join t.project p join t.assignedTo u where t.id = :id")
+    Optional<TaskResponse> findResponseById(@Param("id") int id);
 
+    // Project deletion: everything at once, or chunk by chunk by id for very large projects
+    @Query("select count(t) from Task t where t.project.id = :projectId")
+    long countByProjectId(@Param("projectId") int projectId);
+
+    @Modifying
+    @Query("delete from Task t where t.project.id = :projectId")
+    int deleteAllByProjectId(@Param("projectId") int projectId);
+
+    @Query("select t.id from Task t where t.project.id = :projectId order by t.id")
+    List<Integer> findIdsByProjectId(@Param("projectId") int projectId, Limit limit);
+
+    @Modifying
+    @Query("delete from Task t where t.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
+}
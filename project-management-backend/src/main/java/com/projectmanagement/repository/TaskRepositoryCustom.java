@@ -0,0 +1,18 @@
+package com.projectmanagement.repository;
+
+// Column-targeted updates built at runtime; implemented in TaskRepositoryImpl
+public interface TaskRepositoryCustom {
+
+    /**
+     * Writes only the given columns with a single UPDATE and no prior read, incrementing the version.
+     * Null arguments leave their column untouched.
+     *
+     * @param id              task id
+     * @param taskName        new name, or null
+     * @param status          new status, or null
+     * @param assignedToId    new assignee (must exist), or null
+     * @param expectedVersion version the change is based on, or null to skip the check
+     * @return 1 if updated, 0 if the task does not exist or its version differs
+     */
+    int patch(int id, String taskName, String status, Integer assignedToId, Long expectedVersion);
+}
@@ -0,0 +1,45 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patch(int id, String taskName, String status, Integer assignedToId, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        if (taskName != null) {
+            update.set(task.<String>get("taskName"), taskName);
+        }
+        if (status != null) {
+            update.set(task.<String>get("status"), status);
+        }
+        if (assignedToId != null) {
+            // A reference only supplies the id for assigned_to, nothing is loaded
+            update.set(task.<User>get("assignedTo"), entityManager.getReference(User.class, assignedToId));
+        }
+        // Bumped like an entity update, so a concurrent full update still sees the change
+        update.set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L));
+
+        Predicate byId = cb.equal(task.get("id"), id);
+        update.where(expectedVersion != null
+                ? cb.and(byId, cb.equal(task.get("version"), expectedVersion))
+                : byId);
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
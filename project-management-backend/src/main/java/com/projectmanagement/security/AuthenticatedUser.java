@@ -0,0 +1,78 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal placed in the security context by {@link JwtAuthenticationFilter}.
+ * Carries the user id, name and role so controllers can use {@code @AuthenticationPrincipal}
+ * instead of looking the user up by email again.
+ * <p>
+ * Immutable and without the password hash: {@link PrincipalCache} shares one instance between all requests
+ * of a user. The hash only travels in {@link UserCredentials}, on the login path.
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+    private final int id;
+    private final String email;
+    private final String name;
+    private final String role;  // Without the "ROLE_" prefix, as stored in users.role
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public AuthenticatedUser(int id, String email, String name, String role) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+        // Ensure the role is prefixed with "ROLE_" (e.g., ROLE_USER, ROLE_ADMIN)
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getName(), user.getRole());
+    }
+
+    // Principal rebuilt from verified token claims in stateless mode
+    public static AuthenticatedUser fromClaims(JwtClaims claims) {
+        String role = claims.getRole().startsWith("ROLE_") ? claims.getRole().substring(5) : claims.getRole();
+        return new AuthenticatedUser(claims.getUserId(), claims.getSubject(), claims.getName(), role);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // Authenticated by token; the password is checked through UserCredentials
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    // The email is the login name and the JWT subject
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
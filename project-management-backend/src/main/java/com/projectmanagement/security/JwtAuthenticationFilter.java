@@ -1,9 +1,7 @@
 package com.projectmanagement.security;
 
-import com.projectmanagement.service.CustomUserDetailsService;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.stereotype.Component;
 
@@ -12,21 +10,40 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 
 @Component // This marks the class as a Spring-managed bean
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    // Authenticated by password or refresh cookie, not by the access token. Refresh and logout must keep
+    // working once the access token has expired, so a stale Authorization header is not even looked at
+    private static final Set<String> CREDENTIAL_ENDPOINTS = Set.of(
+            "/api/users/auth/login", "/api/users/auth/register", "/api/users/auth/refresh", "/api/users/auth/logout");
+
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
+
+    // When enabled, tokens carrying uid/name/role claims are trusted without loading the user
+    private final boolean stateless;
 
     // Constructor injection for better testing and maintenance
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, PrincipalCache principalCache, TokenRevocationList tokenRevocationList,
+                                   @Value("${jwt.stateless:false}") boolean stateless) {
         this.jwtUtil = jwtUtil;
-        this.customUserDetailsService = customUserDetailsService;
+        this.principalCache = principalCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.stateless = stateless;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return CREDENTIAL_ENDPOINTS.contains(request.getRequestURI());
     }
 
     // Override doFilterInternal from OncePerRequestFilter
@@ -38,15 +55,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Check if the request contains the "Authorization" header and starts with "Bearer "
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String token = authorizationHeader.substring(7);  // Extract token
-            String username = jwtUtil.extractUsername(token);  // Extract username from token
 
-            // If the username is valid and no authentication is set yet, authenticate the user
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // If no authentication is set yet, authenticate the user
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
                 try {
-                    UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);  // Load user details
+                    // Signature is verified once per token; repeat requests hit the verified-claims cache
+                    JwtClaims claims = jwtUtil.verify(token);
+                    String username = claims.getSubject();
+                    if (tokenRevocationList.isRevoked(claims)) {
+                        throw new RuntimeException("Token has been revoked");
+                    }
+
+                    // Stateless mode builds the principal from the signed claims; otherwise load it (cached).
+                    // Older tokens without the uid/name claims always take the lookup path.
+                    AuthenticatedUser userDetails = stateless && claims.hasPrincipalClaims()
+                            ? AuthenticatedUser.fromClaims(claims)
+                            : principalCache.get(username);
 
                     // Validate the token and set the authentication context
-                    if (jwtUtil.validateToken(token, userDetails)) {
+                    if (jwtUtil.validateToken(claims, userDetails)) {
                         UsernamePasswordAuthenticationToken authenticationToken =
                                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                         SecurityContextHolder.getContext().setAuthentication(authenticationToken);  // Set authentication
@@ -0,0 +1,87 @@
+package com.projectmanagement.security;
+
+import java.util.Date;
+
+/**
+ * Immutable view of a JWT whose signature has already been verified.
+ * Built once per token by {@link JwtUtil#verify(String)} and shared by every caller for that token.
+ */
+public final class JwtClaims {
+
+    private final String token;
+    private final String subject;
+    private final String role;
+    private final Integer userId;  // Null for tokens issued before the uid/name/jti claims existed
+    private final String name;
+    private final String tokenId;
+    private final long issuedAt;
+    private final long expiration;
+
+    public JwtClaims(String token, String subject, String role, Integer userId, String name, String tokenId,
+                     Date issuedAt, Date expiration) {
+        this.token = token;
+        this.subject = subject;
+        this.role = role;
+        this.userId = userId;
+        this.name = name;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt != null ? issuedAt.getTime() : 0L;
+        this.expiration = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
+    }
+
+    // The compact token these claims were verified from
+    public String getToken() {
+        return token;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    // True when the token carries everything needed to build the principal without loading the user
+    public boolean hasPrincipalClaims() {
+        return userId != null && name != null && tokenId != null && role != null;
+    }
+
+    public Date getIssuedAt() {
+        return new Date(issuedAt);
+    }
+
+    public Date getExpiration() {
+        return new Date(expiration);
+    }
+
+    // Issue time as epoch milliseconds (JWT "iat" has second precision)
+    public long getIssuedAtMillis() {
+        return issuedAt;
+    }
+
+    // Expiration as epoch milliseconds, avoids allocating a Date on the hot path
+    public long getExpirationMillis() {
+        return expiration;
+    }
+
+    public boolean isExpired() {
+        return isExpired(System.currentTimeMillis());
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiration <= nowMillis;
+    }
+}
@@ -1,53 +1,134 @@
 package com.projectmanagement.security;
 
+import com.projectmanagement.config.CacheConfig;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
+    // Custom claim names; the subject is the email and "jti" identifies the token for revocation
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_NAME = "name";
+
     @Value("${jwt.secret.key}")  // Fetch the secret key from application.properties
     private String SECRET_KEY;
 
-    // Extract username (subject) from the token
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    // Lifetime of access tokens; clients renew them through the refresh token, revocation watermarks outlive them
+    @Value("${jwt.token.expiration:15m}")
+    private Duration tokenValidity = Duration.ofMinutes(15);
+
+    // Time source for issuing and expiring tokens; replaced in tests to move past "exp"
+    private Clock clock = Clock.systemUTC();
+
+    // Built once at startup; JwtParser is immutable and safe to share between request threads
+    private JwtParser parser;
+
+    // Recently verified tokens, keyed by signature (see CacheConfig.JWT_CLAIMS)
+    private final Cache verifiedTokens;
+
+    // jwt.verify by cache (hit: signature already checked) and outcome
+    private final Timer verifyHitValid;
+    private final Timer verifyHitInvalid;
+    private final Timer verifyMissValid;
+    private final Timer verifyMissInvalid;
+
+    public JwtUtil(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.verifiedTokens = cacheManager.getCache(CacheConfig.JWT_CLAIMS);
+        this.verifyHitValid = verifyTimer(meterRegistry, "hit", "valid");
+        this.verifyHitInvalid = verifyTimer(meterRegistry, "hit", "invalid");
+        this.verifyMissValid = verifyTimer(meterRegistry, "miss", "valid");
+        this.verifyMissInvalid = verifyTimer(meterRegistry, "miss", "invalid");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String cache, String outcome) {
+        return Timer.builder("jwt.verify")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .description("Token verification, including the signature check on a cache miss")
+                .register(meterRegistry);
+    }
+
+    private Timer verifyTimer(boolean cached, boolean valid) {
+        if (cached) {
+            return valid ? verifyHitValid : verifyHitInvalid;
+        }
+        return valid ? verifyMissValid : verifyMissInvalid;
     }
 
-    // Extract expiration date from the token
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    @PostConstruct
+    public void init() {
+        parser = Jwts.parserBuilder()
+                .setSigningKey(SECRET_KEY.getBytes())  // Ensure the key is a byte array
+                .setClock(() -> new Date(clock.millis()))
+                .build();
     }
 
-    // Extract role from the token
-    public String extractRole(String token) {
-        return extractClaim(token, claims -> (String) claims.get("role"));
+    /**
+     * Verifies the token and returns its claims. The signature is checked once per token;
+     * later calls with the same token are served from memory until the token expires.
+     *
+     * @param token the compact JWT
+     * @return the verified claims
+     * @throws RuntimeException if the token is malformed, has a bad signature or has expired
+     */
+    public JwtClaims verify(String token) {
+        long start = System.nanoTime();
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        JwtClaims claims = verifiedTokens.get(signature, JwtClaims.class);
+        boolean cached = claims != null && claims.getToken().equals(token);
+        boolean valid = false;
+        try {
+            // A signature lifted onto a different header/payload must not match the cached entry
+            if (!cached) {
+                claims = parse(token);
+                verifiedTokens.put(signature, claims);
+            }
+            // Checked on every call: a cached entry only leaves the cache some time after its token expired
+            if (claims.isExpired(clock.millis())) {
+                verifiedTokens.evict(signature);
+                throw new RuntimeException("Token has expired");
+            }
+            valid = true;
+            return claims;
+        } finally {
+            verifyTimer(cached, valid).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
-    // Extract a specific claim from the token
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    // Verify the signature and build the immutable claims view
+    JwtClaims parse(String token) {
+        Claims claims = extractAllClaims(token);
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        return new JwtClaims(token, claims.getSubject(), claims.get(CLAIM_ROLE, String.class),
+                userId != null ? userId.intValue() : null, claims.get(CLAIM_NAME, String.class), claims.getId(),
+                claims.getIssuedAt(), claims.getExpiration());
     }
 
     // Parse all claims from the token
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY.getBytes())  // Ensure the key is a byte array
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             throw new RuntimeException("Token has expired", e);
         } catch (Exception e) {
@@ -56,35 +137,41 @@ public class JwtUtil {
         }
     }
 
-    // Check if the token has expired
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     // Validate the token
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
+    }
+
+    // Validate already verified claims against the loaded user
+    public boolean validateToken(JwtClaims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.isExpired(clock.millis());
     }
 
     // Generate a new token for a given user with role
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         // Add the user's role to the claims (e.g., ROLE_USER or ROLE_ADMIN)
-        claims.put("role", userDetails.getAuthorities().stream()
+        claims.put(CLAIM_ROLE, userDetails.getAuthorities().stream()
                 .map(authority -> authority.getAuthority())
                 .findFirst()
                 .orElse("ROLE_USER"));  // Default to "ROLE_USER" if role is not found
+        // Id and name let the stateless mode build the principal from the token alone
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_NAME, user.getName());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
     // Create a token with custom claims and expiration
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = clock.millis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours expiration (adjust as necessary)
+                .setId(UUID.randomUUID().toString())  // Lets a single token be revoked on logout
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + tokenValidity.toMillis()))
                 .signWith(SignatureAlgorithm.HS256, SECRET_KEY.getBytes()) // Signing with HS256 algorithm
                 .compact();
     }
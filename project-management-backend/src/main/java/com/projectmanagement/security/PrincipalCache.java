@@ -0,0 +1,48 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.config.CacheConfig;
+import com.projectmanagement.config.SingleFlightCache;
+import com.projectmanagement.service.CustomUserDetailsService;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, TTL-evicting cache of the principals resolved by {@link JwtAuthenticationFilter}.
+ * Saves the users lookup on every authenticated request; entries are evicted by
+ * {@link com.projectmanagement.service.UserService} whenever a user is changed or removed.
+ * Holds {@link AuthenticatedUser}s, which are immutable and carry no password hash.
+ */
+@Component
+public class PrincipalCache {
+
+    private final SingleFlightCache<String, AuthenticatedUser> cache;
+    private final CustomUserDetailsService customUserDetailsService;
+
+    public PrincipalCache(CacheManager cacheManager, CustomUserDetailsService customUserDetailsService) {
+        this.cache = new SingleFlightCache<>(cacheManager.getCache(CacheConfig.PRINCIPALS));
+        this.customUserDetailsService = customUserDetailsService;
+    }
+
+    /**
+     * Returns the principal for the given email, loading it from the database on a miss.
+     * Concurrent misses for the same email share a single load; a loader exception
+     * (e.g. UsernameNotFoundException) reaches every waiting caller.
+     *
+     * @param email the token subject
+     * @return the cached or freshly loaded principal
+     */
+    public AuthenticatedUser get(String email) {
+        return cache.get(email, () -> customUserDetailsService.loadPrincipal(email));
+    }
+
+    /**
+     * Drops the cached principal so the next request reloads it.
+     *
+     * @param email the email the principal is cached under
+     */
+    public void evict(String email) {
+        if (email != null) {
+            cache.evict(email);
+        }
+    }
+}
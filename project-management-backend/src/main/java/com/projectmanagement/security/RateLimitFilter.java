@@ -0,0 +1,281 @@
+package com.projectmanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmanagement.config.CacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Locale;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limiting, placed in the security chain ahead of {@link JwtAuthenticationFilter}
+ * so a flood is refused before any token, user or password work is done.
+ * <ul>
+ *     <li>auth: login and register by client IP. Each costs a BCrypt hash, so this caps the hashing one address
+ *     can cause; it is loose enough for many users sharing a NAT.</li>
+ *     <li>login: login by client IP and the submitted email, the password-guessing limit. One user's failed
+ *     attempts do not lock out the others behind the same address.</li>
+ *     <li>session: refresh and logout by client IP, separate from the above so a burst of logins does not
+ *     keep the other tabs from refreshing their tokens.</li>
+ *     <li>writes: POST, PUT, PATCH and DELETE on the other /api endpoints, by user. The user comes from
+ *     the bearer token through the verified-claims cache; requests without a valid token count against their IP.</li>
+ * </ul>
+ * Refused requests get 429 with Retry-After. Buckets live in {@link CacheConfig#RATE_LIMIT_BUCKETS} and are
+ * dropped after being idle, by which time they would have refilled anyway. Metrics: {@code rate.limit.requests}
+ * by rule and outcome (allowed, limited).
+ * <p>
+ * The client IP is the remote address; behind a proxy set server.forward-headers-strategy so it is the real client.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final String AUTH_PATH = "/api/users/auth/";
+    private static final String LOGIN_PATH = AUTH_PATH + "login";
+    private static final String REGISTER_PATH = AUTH_PATH + "register";
+
+    // Login bodies are tiny; a larger one is still passed on but counts under an empty email
+    private static final int MAX_LOGIN_BODY_BYTES = 4096;
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final Cache buckets;
+    private final boolean enabled;
+    private final Rule auth;
+    private final Rule login;
+    private final Rule session;
+    private final Rule writes;
+
+    public RateLimitFilter(JwtUtil jwtUtil, ObjectMapper objectMapper, CacheManager cacheManager, MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.auth.capacity:100}") long authCapacity,
+                           @Value("${rate-limit.auth.refill-rate:1}") double authRefillRate,
+                           @Value("${rate-limit.login.capacity:10}") long loginCapacity,
+                           @Value("${rate-limit.login.refill-rate:0.2}") double loginRefillRate,
+                           @Value("${rate-limit.session.capacity:60}") long sessionCapacity,
+                           @Value("${rate-limit.session.refill-rate:1}") double sessionRefillRate,
+                           @Value("${rate-limit.writes.capacity:50}") long writesCapacity,
+                           @Value("${rate-limit.writes.refill-rate:10}") double writesRefillRate) {
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.buckets = cacheManager.getCache(CacheConfig.RATE_LIMIT_BUCKETS);
+        this.enabled = enabled;
+        this.auth = new Rule("auth", authCapacity, authRefillRate, meterRegistry);
+        this.login = new Rule("login", loginCapacity, loginRefillRate, meterRegistry);
+        this.session = new Rule("session", sessionCapacity, sessionRefillRate, meterRegistry);
+        this.writes = new Rule("writes", writesCapacity, writesRefillRate, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !WRITE_METHODS.contains(request.getMethod()) || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        String ip = "ip:" + request.getRemoteAddr();
+        long now = System.nanoTime();
+
+        if (uri.equals(LOGIN_PATH)) {
+            BufferedBodyRequest buffered = new BufferedBodyRequest(request);
+            if (allowed(auth, ip, request, response, now)
+                    && allowed(login, ip + "|email:" + loginEmail(buffered), request, response, now)) {
+                chain.doFilter(buffered, response);
+            }
+        } else if (uri.equals(REGISTER_PATH)) {
+            if (allowed(auth, ip, request, response, now)) {
+                chain.doFilter(request, response);
+            }
+        } else if (uri.startsWith(AUTH_PATH)) {
+            if (allowed(session, ip, request, response, now)) {
+                chain.doFilter(request, response);
+            }
+        } else if (allowed(writes, clientKey(request), request, response, now)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    // Takes a token from the client's bucket for the rule, or writes the 429 and returns false
+    private boolean allowed(Rule rule, String client, HttpServletRequest request, HttpServletResponse response, long now)
+            throws IOException {
+        long waitNanos = bucket(rule, client, now).tryAcquire(now);
+        if (waitNanos == 0) {
+            rule.allowed.increment();
+            return true;
+        }
+
+        rule.limited.increment();
+        logger.debug("Rate limited {} request from {}", rule.name, client);
+        long retryAfterSeconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Same shape as the GlobalExceptionHandler errors
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", new Date());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Too many requests, please retry in " + retryAfterSeconds + " seconds.");
+        body.put("path", request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), body);
+        return false;
+    }
+
+    // Built outside the cache: Cache.get(key, loader) would run the constructor under Caffeine's map lock,
+    // blocking other keys in the same bin. A racing creator loses the putIfAbsent and uses the winner's bucket
+    private TokenBucket bucket(Rule rule, String client, long now) {
+        String key = rule.name + "|" + client;
+        TokenBucket bucket = buckets.get(key, TokenBucket.class);
+        if (bucket != null) {
+            return bucket;
+        }
+        TokenBucket created = new TokenBucket(rule.capacity, rule.refillRate, now);
+        Cache.ValueWrapper existing = buckets.putIfAbsent(key, created);
+        return existing == null ? created : (TokenBucket) existing.get();
+    }
+
+    // Normalized like the users lookup, so case variants of one address share a bucket
+    private String loginEmail(BufferedBodyRequest request) {
+        byte[] body = request.prefix;
+        if (body.length > MAX_LOGIN_BODY_BYTES) {
+            return "";
+        }
+        try {
+            return objectMapper.readTree(body).path("email").asText("").trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            // Malformed JSON; the controller rejects it after this
+            return "";
+        }
+    }
+
+    // The token is verified here already; the JWT filter then gets its claims from the cache
+    private String clientKey(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            try {
+                return "user:" + jwtUtil.verify(authorizationHeader.substring(7)).getSubject();
+            } catch (RuntimeException e) {
+                // Rejected by the JWT filter next; still counts against the caller's address
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Reads the start of the body up front so the login email can be checked, then replays it to the
+     * controller followed by whatever was left unread.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final InputStream body;
+
+        private BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            InputStream original = request.getInputStream();
+            this.prefix = original.readNBytes(MAX_LOGIN_BODY_BYTES + 1);
+            this.body = new SequenceInputStream(new ByteArrayInputStream(prefix), original);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = body.read();
+                    finished = b == -1;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = body.read(b, off, len);
+                    finished = n == -1;
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    private static final class Rule {
+        private final String name;
+        private final long capacity;
+        private final double refillRate;
+        private final Counter allowed;
+        private final Counter limited;
+
+        private Rule(String name, long capacity, double refillRate, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.capacity = capacity;
+            this.refillRate = refillRate;
+            this.allowed = counter(meterRegistry, name, "allowed");
+            this.limited = counter(meterRegistry, name, "limited");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String rule, String outcome) {
+            return Counter.builder("rate.limit.requests")
+                    .tag("rule", rule)
+                    .tag("outcome", outcome)
+                    .description("Requests checked by RateLimitFilter")
+                    .register(meterRegistry);
+        }
+    }
+}
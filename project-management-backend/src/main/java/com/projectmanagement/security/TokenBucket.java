@@ -0,0 +1,45 @@
+package com.projectmanagement.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept in a single {@link AtomicLong}, in its GCRA form: instead of a token count
+ * and a last-refill time it stores the "theoretical arrival time" at which the bucket would be full again.
+ * Taking a token pushes that time one refill interval further; a request is refused when it would move
+ * it more than {@code capacity} intervals past now. Concurrent callers race with a CAS, nobody blocks.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    // Full when at or before now
+    private final AtomicLong fullAt;
+
+    TokenBucket(long capacity, double refillPerSecond, long now) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = capacity * intervalNanos;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param now current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            // nanoTime values are only comparable by their difference
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+
+/**
+ * In-memory revocation state checked by {@link JwtAuthenticationFilter} for every token.
+ * <ul>
+ *     <li>a deny-list of single token ids (logout), each kept only until that token expires</li>
+ *     <li>a per-user watermark: every token issued before it is rejected (password change, role change, delete)</li>
+ * </ul>
+ * The state is local to this instance; with several instances behind a load balancer,
+ * revocations only take effect on the instance that recorded them.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Cache revokedTokens;
+    private final Cache watermarks;
+
+    // Replaced in tests to place a revocation within a second
+    private Clock clock = Clock.systemUTC();
+
+    public TokenRevocationList(CacheManager cacheManager) {
+        this.revokedTokens = cacheManager.getCache(CacheConfig.REVOKED_TOKENS);
+        this.watermarks = cacheManager.getCache(CacheConfig.REVOCATION_WATERMARKS);
+    }
+
+    /**
+     * Checks verified claims against the deny-list and the user's watermark.
+     *
+     * @param claims the verified token claims
+     * @return true if the token must not be accepted any more
+     */
+    public boolean isRevoked(JwtClaims claims) {
+        if (claims.getTokenId() != null && revokedTokens.get(claims.getTokenId()) != null) {
+            return true;
+        }
+        if (claims.getUserId() != null) {
+            Long issuedBefore = watermarks.get(claims.getUserId(), Long.class);
+            return issuedBefore != null && claims.getIssuedAtMillis() < issuedBefore;
+        }
+        return false;
+    }
+
+    /**
+     * Revokes a single token until it expires.
+     *
+     * @param claims the verified claims of the token to revoke
+     * @return false if the token has no id and cannot be revoked on its own
+     */
+    public boolean revoke(JwtClaims claims) {
+        if (claims.getTokenId() == null) {
+            return false;
+        }
+        revokedTokens.put(claims.getTokenId(), claims.getExpirationMillis());
+        return true;
+    }
+
+    /**
+     * Revokes every token issued to the user up to now.
+     * "iat" only has second precision, so the watermark is rounded up to the next second:
+     * a token issued within the same second as the revocation is rejected as well.
+     *
+     * @param userId the user whose tokens are revoked
+     */
+    public void revokeAll(int userId) {
+        long nextSecond = (clock.millis() / 1000 + 1) * 1000;
+        watermarks.put(userId, nextSecond);
+    }
+}
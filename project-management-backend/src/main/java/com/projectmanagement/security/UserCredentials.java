@@ -0,0 +1,48 @@
+package com.projectmanagement.security;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * What the AuthenticationManager checks a login against: the {@link AuthenticatedUser} plus the password hash.
+ * A new instance per login, never cached, so {@link #eraseCredentials()} only clears this copy.
+ */
+public class UserCredentials implements UserDetails, CredentialsContainer {
+
+    private final AuthenticatedUser user;
+    private String password;
+
+    public UserCredentials(AuthenticatedUser user, String password) {
+        this.user = user;
+        this.password = password;
+    }
+
+    // The principal to issue tokens for once the password has been checked
+    public AuthenticatedUser getUser() {
+        return user;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return user.getAuthorities();
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return user.getUsername();
+    }
+
+    // Called by the AuthenticationManager once the password has been checked
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -2,14 +2,13 @@ package com.projectmanagement.service;
 
 import com.projectmanagement.model.User;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.AuthenticatedUser;
+import com.projectmanagement.security.UserCredentials;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
@@ -20,20 +19,29 @@ public class CustomUserDetailsService implements UserDetailsService {
         this.userRepository = userRepository;
     }
 
+    // Login path: the password hash is only loaded into a per-request UserCredentials
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // Retrieve the user by email using Optional to handle missing user
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        User user = findByEmail(email);
+
+        // Carries the id, name and role so callers don't need to look the user up again
+        return new UserCredentials(AuthenticatedUser.from(user), user.getPassword());
+    }
 
-        // Ensure the role is prefixed with "ROLE_" (e.g., ROLE_USER, ROLE_ADMIN)
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole());
+    /**
+     * Loads the principal for an already authenticated token subject, without the password hash.
+     *
+     * @param email the token subject
+     * @return the immutable principal
+     * @throws UsernameNotFoundException if no user has that email
+     */
+    public AuthenticatedUser loadPrincipal(String email) throws UsernameNotFoundException {
+        return AuthenticatedUser.from(findByEmail(email));
+    }
 
-        // Convert the User entity to a UserDetails object with authorities
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(authority))  // List of authorities (roles)
-                .build();
+    private User findByEmail(String email) {
+        // Retrieve the user by email using Optional to handle missing user
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 }
@@ -1,59 +1,75 @@
 package com.projectmanagement.service;
 
+import com.projectmanagement.dto.BulkAssignmentResult;
+import com.projectmanagement.dto.PagedResponse;
 import com.projectmanagement.exception.DuplicateAssignmentException;
+import com.projectmanagement.exception.ResourceNotFoundException;
 import com.projectmanagement.model.ProjectAssignment;
 import com.projectmanagement.model.User;
 import com.projectmanagement.repository.ProjectAssignmentRepository;
 import com.projectmanagement.repository.UserRepository; // Import UserRepository
 import com.projectmanagement.dto.ProjectAssignmentWithUsername;  // Import DTO
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("service.invocations")  // Every public method, tagged by class and method (MetricsConfig)
 public class ProjectAssignmentService {
 
     private final ProjectAssignmentRepository projectAssignmentRepository;
     private final UserRepository userRepository;  // Declare UserRepository
+    private final ResourceVersions resourceVersions;  // ETag versions of the assignment reads
 
     // Constructor-based Dependency Injection
-    public ProjectAssignmentService(ProjectAssignmentRepository projectAssignmentRepository, UserRepository userRepository) {
+    public ProjectAssignmentService(ProjectAssignmentRepository projectAssignmentRepository, UserRepository userRepository,
+                                    ResourceVersions resourceVersions) {
         this.projectAssignmentRepository = projectAssignmentRepository;
         this.userRepository = userRepository;  // Inject UserRepository
+        this.resourceVersions = resourceVersions;
     }
 
     /**
      * Assign a user to a project. Throws DuplicateAssignmentException if the user is already assigned.
+     * Duplicates are rejected by the unique (project_id, user_id) constraint rather than a prior lookup.
      *
      * @param assignment ProjectAssignment object containing projectId and userId
      * @return Saved ProjectAssignmentWithUsername object
      */
+    @Transactional
     public ProjectAssignmentWithUsername assignUserToProject(ProjectAssignment assignment) {
-        // Check if the user is already assigned to the project
-        if (projectAssignmentRepository.existsByProjectIdAndUserId(assignment.getProjectId(), assignment.getUserId())) {
+        // Fetch the user by userId (using userRepository) before writing anything
+        User user = userRepository.findById(assignment.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + assignment.getUserId()));
+
+        // Save the assignment; the only constraint that can fail here is uk_project_assignments_project_user
+        ProjectAssignment savedAssignment;
+        try {
+            savedAssignment = projectAssignmentRepository.saveAndFlush(assignment);
+        } catch (DataIntegrityViolationException e) {
             throw new DuplicateAssignmentException("User is already assigned to this project.");
         }
-
-        // Save the assignment to the repository
-        ProjectAssignment savedAssignment = projectAssignmentRepository.save(assignment);
-
-        // Fetch the user by userId (using userRepository)
-        Optional<User> userOptional = userRepository.findById(assignment.getUserId());
-
-        if (userOptional.isEmpty()) {
-            throw new RuntimeException("User not found");  // Handle case if user not found
-        }
-
-        User user = userOptional.get();
+        resourceVersions.assignmentsChanged(savedAssignment.getProjectId());
 
         // Return the assignment along with the username
         return new ProjectAssignmentWithUsername(
                 savedAssignment.getAssignmentId(),
                 savedAssignment.getProjectId(),
+                savedAssignment.getUserId(),
                 user.getName(),  // Assign the username here
                 savedAssignment.getAssignedAt()
         );
@@ -69,6 +85,21 @@ public class ProjectAssignmentService {
         return projectAssignmentRepository.findByProjectId(projectId);
     }
 
+    /**
+     * Get one page of a project's members with their names, ordered by name.
+     *
+     * @param projectId ID of the project
+     * @param pageable page number and size (sorting is fixed)
+     * @param count whether to run the total count query
+     * @return page of ProjectAssignmentWithUsername objects
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<ProjectAssignmentWithUsername> getMembersByProject(int projectId, Pageable pageable, boolean count) {
+        return PagedResponse.of(count
+                ? projectAssignmentRepository.findMembersByProjectId(projectId, pageable)
+                : projectAssignmentRepository.findMemberSliceByProjectId(projectId, pageable));
+    }
+
     /**
      * Get all assignments for a specific user.
      *
@@ -87,12 +118,99 @@ public class ProjectAssignmentService {
      */
     @Transactional
     public void removeUserFromProject(int projectId, int userId) {
-        // Check if the assignment exists
-        if (!projectAssignmentRepository.existsByProjectIdAndUserId(projectId, userId)) {
+        // Perform the deletion; no row removed means the assignment did not exist
+        if (projectAssignmentRepository.deleteByProjectIdAndUserId(projectId, userId) == 0) {
             throw new EntityNotFoundException("Assignment with projectId " + projectId + " and userId " + userId + " does not exist.");
         }
+        resourceVersions.assignmentsChanged(projectId);
+    }
+
+    /**
+     * Assign many users to a project in one transaction. Existing assignments and unknown users are
+     * detected with set-based queries and the new rows are written as a single JDBC batch.
+     *
+     * @param projectId ID of the project
+     * @param userIds IDs of the users to assign (duplicates are ignored)
+     * @return one result per distinct user ID, in request order
+     */
+    @Transactional
+    public List<BulkAssignmentResult> assignUsersToProject(int projectId, List<Integer> userIds) {
+        Set<Integer> requested = new LinkedHashSet<>(userIds);
+
+        Map<Integer, User> users = userRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Integer, ProjectAssignment> existing = assignmentsByUser(projectId, requested);
+
+        List<Integer> toInsert = new ArrayList<>();
+        for (Integer userId : requested) {
+            if (users.containsKey(userId) && !existing.containsKey(userId)) {
+                toInsert.add(userId);
+            }
+        }
+
+        Map<Integer, ProjectAssignment> inserted = Map.of();
+        if (!toInsert.isEmpty()) {
+            try {
+                projectAssignmentRepository.batchInsert(projectId, toInsert, new Date());
+            } catch (DataIntegrityViolationException e) {
+                // Another request assigned one of these users after our lookup; the whole batch is rolled back
+                throw new DuplicateAssignmentException("Some of these users were assigned concurrently. Please retry.");
+            }
+            // Read back the generated IDs in one query
+            inserted = assignmentsByUser(projectId, toInsert);
+            resourceVersions.assignmentsChanged(projectId);
+        }
+
+        List<BulkAssignmentResult> results = new ArrayList<>(requested.size());
+        for (Integer userId : requested) {
+            User user = users.get(userId);
+            if (user == null) {
+                results.add(new BulkAssignmentResult(userId, BulkAssignmentResult.USER_NOT_FOUND, null, null, null));
+            } else if (existing.containsKey(userId)) {
+                results.add(result(existing.get(userId), BulkAssignmentResult.ALREADY_ASSIGNED, user));
+            } else {
+                results.add(result(inserted.get(userId), BulkAssignmentResult.ASSIGNED, user));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Remove many users from a project with a single DELETE.
+     *
+     * @param projectId ID of the project
+     * @param userIds IDs of the users to remove (duplicates are ignored)
+     * @return one result per distinct user ID, in request order
+     */
+    @Transactional
+    public List<BulkAssignmentResult> removeUsersFromProject(int projectId, List<Integer> userIds) {
+        Set<Integer> requested = new LinkedHashSet<>(userIds);
+        Map<Integer, ProjectAssignment> existing = assignmentsByUser(projectId, requested);
+
+        if (!existing.isEmpty()) {
+            projectAssignmentRepository.deleteByProjectIdAndUserIdIn(projectId, existing.keySet());
+            resourceVersions.assignmentsChanged(projectId);
+        }
+
+        List<BulkAssignmentResult> results = new ArrayList<>(requested.size());
+        for (Integer userId : requested) {
+            ProjectAssignment assignment = existing.get(userId);
+            results.add(assignment == null
+                    ? new BulkAssignmentResult(userId, BulkAssignmentResult.NOT_ASSIGNED, null, null, null)
+                    : new BulkAssignmentResult(userId, BulkAssignmentResult.REMOVED,
+                            assignment.getAssignmentId(), null, assignment.getAssignedAt()));
+        }
+        return results;
+    }
+
+    // Existing assignments of the given users to the project, keyed by user ID
+    private Map<Integer, ProjectAssignment> assignmentsByUser(int projectId, Collection<Integer> userIds) {
+        return projectAssignmentRepository.findByProjectIdAndUserIdIn(projectId, userIds).stream()
+                .collect(Collectors.toMap(ProjectAssignment::getUserId, Function.identity()));
+    }
 
-        // Perform the deletion
-        projectAssignmentRepository.deleteByProjectIdAndUserId(projectId, userId);
+    private BulkAssignmentResult result(ProjectAssignment assignment, String status, User user) {
+        return new BulkAssignmentResult(user.getId(), status,
+                assignment.getAssignmentId(), user.getName(), assignment.getAssignedAt());
     }
 }
@@ -0,0 +1,154 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.config.CacheConfig;
+import com.projectmanagement.dto.ProjectDeletionProgress;
+import com.projectmanagement.repository.ProjectAssignmentRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes a project together with its tasks and assignments using set-based DELETEs.
+ * <p>
+ * Up to {@code project.deletion.max-single-transaction-rows} dependent rows go in one transaction.
+ * Larger projects are deleted in the background, {@code project.deletion.chunk-size} rows per transaction,
+ * so no transaction holds locks on the whole project; the project row goes last, together with anything
+ * added meanwhile. A failed run leaves the project in place and can simply be started again.
+ * Progress is kept in {@link CacheConfig#PROJECT_DELETIONS}.
+ */
+@Service
+public class ProjectDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectDeletionService.class);
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectAssignmentRepository projectAssignmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final Cache deletions;
+
+    @Value("${project.deletion.max-single-transaction-rows:10000}")
+    private long maxSingleTransactionRows;
+
+    @Value("${project.deletion.chunk-size:1000}")
+    private int chunkSize;
+
+    public ProjectDeletionService(ProjectRepository projectRepository, TaskRepository taskRepository,
+                                  ProjectAssignmentRepository projectAssignmentRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                  CacheManager cacheManager) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.projectAssignmentRepository = projectAssignmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.deletions = cacheManager.getCache(CacheConfig.PROJECT_DELETIONS);
+    }
+
+    /**
+     * Deletes the project, in this thread or in the background depending on its size.
+     *
+     * @param projectId project to delete
+     * @param onDeleted run once the project row is gone (cache eviction)
+     * @return COMPLETED progress, or RUNNING progress for a background deletion (possibly one already running)
+     */
+    public ProjectDeletionProgress delete(int projectId, Runnable onDeleted) {
+        ProjectDeletionProgress running = getProgress(projectId).filter(ProjectDeletionProgress::isRunning).orElse(null);
+        if (running != null) {
+            return running;
+        }
+
+        long tasks = taskRepository.countByProjectId(projectId);
+        long assignments = projectAssignmentRepository.countByProjectId(projectId);
+        ProjectDeletionProgress progress = ProjectDeletionProgress.started(projectId, tasks, assignments);
+
+        if (tasks + assignments <= maxSingleTransactionRows) {
+            ProjectDeletionProgress done = transactionTemplate.execute(status -> deleteRemaining(progress));
+            onDeleted.run();
+            return done.completed();
+        }
+
+        // A concurrent DELETE of the same project may have started a run meanwhile; a finished (failed) one is replaced
+        Cache.ValueWrapper previous = deletions.putIfAbsent(projectId, progress);
+        if (previous != null) {
+            if (previous.get() instanceof ProjectDeletionProgress other && other.isRunning()) {
+                return other;
+            }
+            deletions.put(projectId, progress);
+        }
+        taskExecutor.execute(() -> deleteInChunks(progress, onDeleted));
+        return progress;
+    }
+
+    public Optional<ProjectDeletionProgress> getProgress(int projectId) {
+        return Optional.ofNullable(deletions.get(projectId, ProjectDeletionProgress.class));
+    }
+
+    private void deleteInChunks(ProjectDeletionProgress started, Runnable onDeleted) {
+        int projectId = started.projectId();
+        ProjectDeletionProgress progress = started;
+        try {
+            int deleted;
+            while ((deleted = inTransaction(() -> deleteChunk(
+                    taskRepository.findIdsByProjectId(projectId, Limit.of(chunkSize)), taskRepository::deleteAllByIdIn))) > 0) {
+                progress = progress.plus(deleted, 0);
+                deletions.put(projectId, progress);
+            }
+            logger.info("Project {} deletion: {} tasks removed, removing assignments", projectId, progress.tasksDeleted());
+            while ((deleted = inTransaction(() -> deleteChunk(
+                    projectAssignmentRepository.findIdsByProjectId(projectId, Limit.of(chunkSize)),
+                    projectAssignmentRepository::deleteAllByIdIn))) > 0) {
+                progress = progress.plus(0, deleted);
+                deletions.put(projectId, progress);
+            }
+
+            // Rows created while the chunks ran are few; they go in the same transaction as the project row
+            ProjectDeletionProgress chunked = progress;
+            progress = transactionTemplate.execute(status -> deleteRemaining(chunked)).completed();
+            onDeleted.run();
+            logger.info("Project {} deleted: {} tasks, {} assignments in {} ms", projectId, progress.tasksDeleted(),
+                    progress.assignmentsDeleted(), progress.finishedAt().toEpochMilli() - progress.startedAt().toEpochMilli());
+        } catch (RuntimeException e) {
+            logger.error("Project {} deletion failed after {} tasks and {} assignments", projectId,
+                    progress.tasksDeleted(), progress.assignmentsDeleted(), e);
+            progress = progress.failed(e.getMessage());
+        } finally {
+            deletions.put(projectId, progress);
+        }
+    }
+
+    // Tasks first, they reference the project; then assignments and the project row itself
+    private ProjectDeletionProgress deleteRemaining(ProjectDeletionProgress progress) {
+        int projectId = progress.projectId();
+        ProjectDeletionProgress deleted = progress.plus(
+                taskRepository.deleteAllByProjectId(projectId),
+                projectAssignmentRepository.deleteAllByProjectId(projectId));
+        projectRepository.deleteRowById(projectId);
+        return deleted;
+    }
+
+    private static int deleteChunk(List<Integer> ids, ToIntFunction<List<Integer>> delete) {
+        return ids.isEmpty() ? 0 : delete.applyAsInt(ids);
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = transactionTemplate.execute(status -> work.getAsInt());
+        return result != null ? result : 0;
+    }
+}
@@ -1,51 +1,168 @@
 package com.projectmanagement.service;
 
+import com.projectmanagement.config.CacheConfig;
+import com.projectmanagement.config.SingleFlightCache;
+import com.projectmanagement.dto.BulkStatusRequest;
+import com.projectmanagement.dto.BulkStatusResult;
+import com.projectmanagement.dto.KeysetResponse;
+import com.projectmanagement.dto.PagedResponse;
+import com.projectmanagement.dto.ProjectDeletionProgress;
+import com.projectmanagement.dto.ProjectPatchRequest;
+import com.projectmanagement.dto.ProjectResponse;
+import com.projectmanagement.dto.ProjectSummary;
 import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.exception.InvalidInputException;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.VersionConflictException;
 import com.projectmanagement.model.Project;
 import com.projectmanagement.repository.ProjectRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("service.invocations")  // Every public method, tagged by class and method (MetricsConfig)
 public class ProjectService {
 
     @Autowired
     private ProjectRepository projectRepository;
 
+    // ETag versions of the project reads, bumped after the caches below are evicted
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private ProjectDeletionService projectDeletionService;
+
+    // Read-through caches of immutable DTOs (sizes/TTLs in CacheConfig); every write below evicts the affected keys
+    private final SingleFlightCache<Integer, ProjectResponse> projectsById;
+    private final SingleFlightCache<String, List<ProjectResponse>> projectLists;
+
+    // Keys of the projectLists cache
+    private static final String ALL_PROJECTS = "all";
+
+    public ProjectService(CacheManager cacheManager) {
+        this.projectsById = new SingleFlightCache<>(cacheManager.getCache(CacheConfig.PROJECTS_BY_ID));
+        this.projectLists = new SingleFlightCache<>(cacheManager.getCache(CacheConfig.PROJECT_LISTS));
+    }
+
     // Get all projects
-    public List<Project> getAllProjects() {
-        return projectRepository.findAll();
+    public List<ProjectResponse> getAllProjects() {
+        return projectLists.get(ALL_PROJECTS, () -> toResponses(projectRepository.findAll()));
     }
 
     // Get all projects by status (e.g., "In Progress", "Completed")
-    public List<Project> getProjectsByStatus(String status) {
-        return projectRepository.findByStatus(status);
+    public List<ProjectResponse> getProjectsByStatus(String status) {
+        return projectLists.get(statusKey(status), () -> toResponses(projectRepository.findByStatus(status)));
     }
 
     // Get projects by the creator (user ID)
-    public List<Project> getProjectsByCreator(int createdBy) {
-        return projectRepository.findByCreatedBy(createdBy);
+    public List<ProjectResponse> getProjectsByCreator(int createdBy) {
+        return projectLists.get(creatorKey(createdBy), () -> toResponses(projectRepository.findByCreatedBy(createdBy)));
+    }
+
+    // Default order of the summary lists: newest first
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    // Get all project summaries (no description)
+    public List<ProjectSummary> getProjectSummaries() {
+        return projectRepository.findSummariesBy(NEWEST_FIRST);
+    }
+
+    // Get project summaries by status
+    public List<ProjectSummary> getProjectSummariesByStatus(String status) {
+        return projectRepository.findSummariesByStatus(status, NEWEST_FIRST);
+    }
+
+    // Get project summaries by creator
+    public List<ProjectSummary> getProjectSummariesByCreator(int createdBy) {
+        return projectRepository.findSummariesByCreatedBy(createdBy, NEWEST_FIRST);
+    }
+
+    // Get one page of all project summaries; `count` = false skips the total count query
+    public PagedResponse<ProjectSummary> getProjectsPage(Pageable pageable, boolean count) {
+        return PagedResponse.of(count
+                ? projectRepository.findPageBy(pageable)
+                : projectRepository.findSliceBy(pageable));
+    }
+
+    // Get one page of projects by status
+    public PagedResponse<ProjectSummary> getProjectsByStatusPage(String status, Pageable pageable, boolean count) {
+        return PagedResponse.of(count
+                ? projectRepository.findPageByStatus(status, pageable)
+                : projectRepository.findSliceByStatus(status, pageable));
+    }
+
+    // Get one page of projects by creator
+    public PagedResponse<ProjectSummary> getProjectsByCreatorPage(int createdBy, Pageable pageable, boolean count) {
+        return PagedResponse.of(count
+                ? projectRepository.findPageByCreatedBy(createdBy, pageable)
+                : projectRepository.findSliceByCreatedBy(createdBy, pageable));
+    }
+
+    /**
+     * Keyset page of projects, newest first. The cursor is the (createdAt, id) pair of the
+     * last project on the previous page; omit both for the first page.
+     *
+     * @param status         optional status filter
+     * @param createdBy      optional creator filter
+     * @param afterCreatedAt cursor created_at in epoch milliseconds
+     * @param afterId        cursor project id
+     * @param size           page size
+     * @return the page and the cursor for the next one
+     */
+    public KeysetResponse<ProjectSummary> getProjectsAfter(String status, Integer createdBy, Long afterCreatedAt, Integer afterId, int size) {
+        if ((afterCreatedAt == null) != (afterId == null)) {
+            throw new InvalidInputException("afterCreatedAt and afterId must be provided together.");
+        }
+
+        // Fetch one extra row to know whether another page exists without counting
+        List<ProjectSummary> rows = projectRepository.findAfter(status, createdBy,
+                afterCreatedAt != null ? new Date(afterCreatedAt) : null, afterId, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ProjectSummary> content = hasNext ? rows.subList(0, size) : rows;
+
+        if (!hasNext) {
+            return new KeysetResponse<>(content, size, false, null, null);
+        }
+        ProjectSummary last = content.get(content.size() - 1);
+        return new KeysetResponse<>(content, size, true, last.createdAt().getTime(), last.id());
     }
 
     // Create a new project
-    public Project createProject(Project project) {
+    public ProjectResponse createProject(Project project) {
         // You can add custom validation here if needed (e.g., check if project with the same name already exists)
-        return projectRepository.save(project);
+        ProjectResponse created = ProjectResponse.from(projectRepository.save(project));
+        evictLists(created);
+        resourceVersions.projectChanged(created.id());
+        return created;
     }
 
     // Get project by ID
-    public Optional<Project> getProjectById(int id) {
-        return projectRepository.findById(id);
+    public Optional<ProjectResponse> getProjectById(int id) {
+        return Optional.ofNullable(projectsById.get(id,
+                () -> projectRepository.findById(id).map(ProjectResponse::from).orElse(null)));
     }
 
     // Update a project
-    public Project updateProject(int id, Project updatedProject) {
+    public ProjectResponse updateProject(int id, Project updatedProject) {
         // Check if the project exists
         Project existingProject = projectRepository.findById(id).orElseThrow(() ->
                 new CustomException("Project not found with ID: " + id));
+        ProjectResponse previous = ProjectResponse.from(existingProject);
+
+        // The client echoes the version it read; an older one means someone else saved in between
+        if (updatedProject.getVersion() != null && !updatedProject.getVersion().equals(existingProject.getVersion())) {
+            throw conflict(id, previous);
+        }
 
         // Update the existing project fields (but preserve createdAt)
         existingProject.setProjectName(updatedProject.getProjectName());
@@ -58,13 +175,119 @@ public class ProjectService {
         // `createdAt` will stay as is, it is not updated.
 
         // Save and return the updated project
-        return projectRepository.save(existingProject);
+        ProjectResponse updated;
+        try {
+            updated = ProjectResponse.from(projectRepository.save(existingProject));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Another update committed between our read and our write; report what it stored
+            projectsById.evict(id);
+            throw conflict(id, getProjectById(id).orElse(null));
+        }
+        projectsById.evict(id);
+        // The project may have moved between status/creator lists, so both the old and the new ones go
+        evictLists(previous);
+        evictLists(updated);
+        resourceVersions.projectChanged(id);
+        return updated;
+    }
+
+    /**
+     * Partial update as one column-targeted UPDATE without reading the project first.
+     * The row is only read when nothing was updated, to tell a missing project from a version conflict.
+     *
+     * @param id    project id
+     * @param patch fields to change; null fields are left as they are
+     */
+    public void patchProject(int id, ProjectPatchRequest patch) {
+        if (patch.isEmpty()) {
+            throw new InvalidInputException("No fields to update.");
+        }
+        if (projectRepository.patch(id, patch.projectName(), patch.description(), patch.status(), patch.version()) == 0) {
+            projectsById.evict(id);
+            ProjectResponse current = getProjectById(id).orElseThrow(() ->
+                    new ResourceNotFoundException("Project not found with ID: " + id));
+            throw conflict(id, current);
+        }
+        projectsById.evict(id);
+        // Without a read the previous status is unknown, so every list goes; they are cheap to rebuild
+        projectLists.clear();
+        resourceVersions.projectChanged(id);
+    }
+
+    /**
+     * Moves the projects matching the filter to a new status with one set-based UPDATE, and optionally
+     * their tasks with a second one in the same transaction.
+     *
+     * @param request filter, new status and optional task status
+     * @return number of projects and tasks updated
+     */
+    public BulkStatusResult updateStatus(BulkStatusRequest request) {
+        if (!request.hasFilter()) {
+            throw new InvalidInputException("Provide ids, currentStatus or createdBy to select the projects.");
+        }
+        if (request.ids() != null && request.ids().isEmpty()) {
+            return new BulkStatusResult(0, 0);
+        }
+        BulkStatusResult result = projectRepository.updateStatus(request.ids(), request.currentStatus(),
+                request.createdBy(), request.newStatus(), request.taskStatus());
+        if (result.projectsUpdated() == 0) {
+            return result;
+        }
+
+        // Evicted after the commit (the repository method owns the transaction). With explicit ids only those
+        // entries can be stale; otherwise the changed ids are unknown without a read and the whole cache goes
+        if (request.ids() != null) {
+            request.ids().forEach(id -> {
+                projectsById.evict(id);
+                resourceVersions.projectChanged(id);
+            });
+        } else {
+            projectsById.clear();
+            resourceVersions.allProjectsChanged();
+        }
+        projectLists.clear();
+        return result;
+    }
+
+    // Delete a project with its tasks and assignments; large projects are deleted in the background
+    public ProjectDeletionProgress deleteProject(int id) {
+        // Loaded first (usually from the cache) to know which lists to evict
+        ProjectResponse existing = getProjectById(id).orElseThrow(() ->
+                new ResourceNotFoundException("Project not found with ID: " + id));
+        return projectDeletionService.delete(id, () -> {
+            projectsById.evict(id);
+            evictLists(existing);
+            resourceVersions.projectChanged(id);
+            resourceVersions.assignmentsChanged(id);
+        });
+    }
+
+    // Progress of a background deletion, kept for a while after it finished
+    public Optional<ProjectDeletionProgress> getDeletionProgress(int id) {
+        return projectDeletionService.getProgress(id);
+    }
+
+    // Drops every cached list the project appears in
+    private void evictLists(ProjectResponse project) {
+        projectLists.evict(ALL_PROJECTS);
+        projectLists.evict(statusKey(project.status()));
+        projectLists.evict(creatorKey(project.createdBy()));
+    }
+
+    private static VersionConflictException conflict(int id, ProjectResponse current) {
+        return new VersionConflictException("Project " + id + " was modified by someone else. Review the current version and retry.", current);
+    }
+
+    private static String statusKey(String status) {
+        return "status:" + status;
+    }
+
+    private static String creatorKey(int createdBy) {
+        return "creator:" + createdBy;
     }
 
-    // Delete a project
-    public void deleteProject(int id) {
-        // Before deletion, you could check if the project has any tasks or users associated (if applicable)
-        projectRepository.deleteById(id);
+    private static List<ProjectResponse> toResponses(List<Project> projects) {
+        return projects.stream().map(ProjectResponse::from).toList();
     }
 
 }
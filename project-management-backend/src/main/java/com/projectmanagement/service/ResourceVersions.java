@@ -0,0 +1,109 @@
+package com.projectmanagement.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change counters behind the ETags of the project and assignment reads.
+ * The services bump a counter after every committed write, so a read can compare the client's
+ * If-None-Match with the current version without touching the database.
+ * <p>
+ * Versions start with a random per-boot prefix, so ETags handed out before a restart never match.
+ * Like the other caches the counters are local to this instance and only see writes made through it.
+ */
+@Component
+public class ResourceVersions {
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    // Any project created, updated or deleted (the project lists)
+    private final AtomicLong projects = new AtomicLong();
+
+    // Bulk changes to an unknown set of projects; part of every per-project version
+    private final AtomicLong projectGeneration = new AtomicLong();
+
+    // Any assignment added or removed (the per-user assignment lists)
+    private final AtomicLong assignments = new AtomicLong();
+
+    // Any user updated or deleted (member lists show user names)
+    private final AtomicLong users = new AtomicLong();
+
+    // Per-project counters; an absent entry is version 0. Entries stay after a delete, ids are not reused
+    private final ConcurrentMap<Integer, AtomicLong> projectVersions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, AtomicLong> projectAssignmentVersions = new ConcurrentHashMap<>();
+
+    public String projects() {
+        return version(projects.get());
+    }
+
+    public String project(int projectId) {
+        return version(projectGeneration.get()) + "-" + counter(projectVersions, projectId);
+    }
+
+    public String assignments() {
+        return version(assignments.get());
+    }
+
+    public String projectAssignments(int projectId) {
+        return version(counter(projectAssignmentVersions, projectId));
+    }
+
+    public String projectMembers(int projectId) {
+        return version(counter(projectAssignmentVersions, projectId)) + "-" + users.get();
+    }
+
+    public void projectChanged(int projectId) {
+        afterCommit(() -> {
+            projectVersions.computeIfAbsent(projectId, id -> new AtomicLong()).incrementAndGet();
+            projects.incrementAndGet();
+        });
+    }
+
+    // A bulk update whose affected projects are not known individually
+    public void allProjectsChanged() {
+        afterCommit(() -> {
+            projectGeneration.incrementAndGet();
+            projects.incrementAndGet();
+        });
+    }
+
+    public void assignmentsChanged(int projectId) {
+        afterCommit(() -> {
+            projectAssignmentVersions.computeIfAbsent(projectId, id -> new AtomicLong()).incrementAndGet();
+            assignments.incrementAndGet();
+        });
+    }
+
+    public void usersChanged() {
+        afterCommit(users::incrementAndGet);
+    }
+
+    private String version(long counter) {
+        return epoch + "-" + counter;
+    }
+
+    private static long counter(ConcurrentMap<Integer, AtomicLong> counters, int projectId) {
+        AtomicLong counter = counters.get(projectId);
+        return counter != null ? counter.get() : 0L;
+    }
+
+    // Bumping before the commit would let a concurrent read cache the old rows under the new version
+    private static void afterCommit(Runnable bump) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump.run();
+            }
+        });
+    }
+}
@@ -1,18 +1,25 @@
 package com.projectmanagement.service;
 
+import com.projectmanagement.dto.TaskPatchRequest;
+import com.projectmanagement.dto.TaskResponse;
+import com.projectmanagement.exception.InvalidInputException;
+import com.projectmanagement.exception.VersionConflictException;
 import com.projectmanagement.model.Project;
 import com.projectmanagement.model.Task;
 import com.projectmanagement.model.User;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.repository.ProjectRepository;
 import com.projectmanagement.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("service.invocations")  // Every public method, tagged by class and method (MetricsConfig)
 public class TaskService {
 
     @Autowired
@@ -24,13 +31,15 @@ public class TaskService {
     @Autowired
     private UserRepository userRepository;
 
-    // Get all tasks
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    // Get all tasks with project and assignee names (one query regardless of the number of tasks)
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks() {
+        return taskRepository.findAllResponses();
     }
 
     // Create a new task
-    public Task createTask(Task task) {
+    @Transactional
+    public TaskResponse createTask(Task task) {
         // Set the project and user based on their IDs
         Project project = projectRepository.findById(task.getProject().getId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid project ID"));
@@ -40,29 +49,66 @@ public class TaskService {
         task.setProject(project);
         task.setAssignedTo(user);
         task.setCreatedAt(new java.util.Date());  // Set the createdAt to current time
+        task.setVersion(null);  // A non-null version would make save() merge instead of insert
 
-        return taskRepository.save(task);
+        return TaskResponse.from(taskRepository.save(task));
     }
 
     // Get task by ID
-    public Optional<Task> getTaskById(int id) {
-        return taskRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<TaskResponse> getTaskById(int id) {
+        return taskRepository.findResponseById(id);
     }
 
     // Update a task
-    public Task updateTask(int id, Task task) {
+    @Transactional
+    public TaskResponse updateTask(int id, Task task) {
         // Ensure the task exists
         Task existingTask = taskRepository.findById(id).orElseThrow(() ->
                 new IllegalArgumentException("Task not found with ID: " + id));
 
+        // The client echoes the version it read; an older one means someone else saved in between.
+        // A concurrent commit after this check fails the versioned UPDATE at flush and is answered with 409 as well
+        if (task.getVersion() != null && !task.getVersion().equals(existingTask.getVersion())) {
+            throw new VersionConflictException("Task " + id + " was modified by someone else. Review the current version and retry.",
+                    TaskResponse.from(existingTask));
+        }
+
         // Set the ID for the task and update other fields
         task.setId(id);
         existingTask.setTaskName(task.getTaskName());
         existingTask.setStatus(task.getStatus());
-        existingTask.setProject(task.getProject());  // Set the project based on the ID
-        existingTask.setAssignedTo(task.getAssignedTo());  // Set the assigned user based on the ID
+        existingTask.setProject(projectRepository.findById(task.getProject().getId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid project ID")));  // Set the project based on the ID
+        existingTask.setAssignedTo(userRepository.findById(task.getAssignedTo().getId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid user ID")));  // Set the assigned user based on the ID
+
+        // Flushed here so the response carries the incremented version
+        return TaskResponse.from(taskRepository.saveAndFlush(existingTask));
+    }
 
-        return taskRepository.save(existingTask);
+    /**
+     * Partial update as one column-targeted UPDATE without loading the task (the Kanban status change).
+     * The row is only read when nothing was updated, to tell a missing task from a version conflict.
+     *
+     * @param id    task id
+     * @param patch fields to change; null fields are left as they are
+     */
+    @Transactional
+    public void patchTask(int id, TaskPatchRequest patch) {
+        if (patch.isEmpty()) {
+            throw new InvalidInputException("No fields to update.");
+        }
+        // Checked up front: the UPDATE would otherwise fail on fk_tasks_assigned_to
+        if (patch.assignedToId() != null && !userRepository.existsById(patch.assignedToId())) {
+            throw new IllegalArgumentException("Invalid user ID");
+        }
+        if (taskRepository.patch(id, patch.taskName(), patch.status(), patch.assignedToId(), patch.version()) == 0) {
+            TaskResponse current = taskRepository.findResponseById(id).orElseThrow(() ->
+                    new IllegalArgumentException("Task not found with ID: " + id));
+            throw new VersionConflictException("Task " + id + " was modified by someone else. Review the current version and retry.",
+                    current);
+        }
     }
 
     // Delete a task
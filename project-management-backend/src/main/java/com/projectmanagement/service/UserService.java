@@ -2,11 +2,17 @@ package com.projectmanagement.service;
 
 import com.projectmanagement.dto.PasswordChangeRequest;
 import com.projectmanagement.dto.UserDetailsResponse;
+import com.projectmanagement.dto.UserPatchRequest;
 import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.exception.InvalidInputException;
+import com.projectmanagement.exception.VersionConflictException;
 import com.projectmanagement.model.User;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.PrincipalCache;
+import com.projectmanagement.security.TokenRevocationList;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -14,12 +20,28 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("service.invocations")  // Every public method, tagged by class and method (MetricsConfig)
 public class UserService {
 
     @Autowired
     private UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    // Member lists show user names, so their ETags move with every user update or delete
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    // Bounded BCrypt encoder from SecurityConfig, so hashing here shares the login executor
+    @Autowired
+    private PasswordEncoder passwordEncoder;
 
     // Constants for roles (optional but helps avoid errors due to hardcoded strings)
     public static final String ROLE_USER = "ROLE_USER";
@@ -43,6 +65,7 @@ public class UserService {
 
         // Encode the password before saving the user
         user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setVersion(null);  // A non-null version would make save() merge instead of insert
         return userRepository.save(user);
     }
 
@@ -58,6 +81,13 @@ public class UserService {
         User existingUser = userRepository.findById(id).orElseThrow(() ->
                 new CustomException("User not found with ID: " + id)
         );
+        String previousEmail = existingUser.getEmail();
+        String previousRole = existingUser.getRole();
+
+        // The client echoes the version it read; an older one means someone else saved in between
+        if (user.getVersion() != null && !user.getVersion().equals(existingUser.getVersion())) {
+            throw conflict(existingUser);
+        }
 
         // Preserve the ID to ensure the correct user is updated
         user.setId(id);
@@ -85,7 +115,44 @@ public class UserService {
         }
 
         // Save the updated user back to the database
-        return userRepository.save(existingUser);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(existingUser);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Another update committed between our read and our write; report what it stored
+            throw conflict(getUserById(id));
+        }
+
+        // Drop the cached principal (under the old email if it changed) so role changes apply immediately
+        principalCache.evict(previousEmail);
+        resourceVersions.usersChanged();
+        // Tokens carry the email and role as claims; make the user sign in again when either changes
+        if (!previousEmail.equals(savedUser.getEmail()) || !previousRole.equals(savedUser.getRole())
+                || user.getPassword() != null) {
+            tokenRevocationList.revokeAll(id);
+            refreshTokenService.revokeAll(id);
+        }
+        return savedUser;
+    }
+
+    /**
+     * Partial update of name, email and role. The user has to be loaded (cache eviction and token
+     * revocation depend on the previous email and role), but @DynamicUpdate limits the UPDATE to the changed columns.
+     *
+     * @param id    user id
+     * @param patch fields to change; null fields are left as they are
+     * @return the updated user
+     */
+    public User patchUser(int id, UserPatchRequest patch) {
+        if (patch.isEmpty()) {
+            throw new InvalidInputException("No fields to update.");
+        }
+        User changes = new User();
+        changes.setName(patch.name());
+        changes.setEmail(patch.email());
+        changes.setRole(patch.role());
+        changes.setVersion(patch.version());
+        return updateUser(id, changes);
     }
 
     public void updatePassword(int id, PasswordChangeRequest request) {
@@ -113,6 +180,9 @@ public class UserService {
         // Update the password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
+        tokenRevocationList.revokeAll(id);  // Sign out every session that used the old password
+        refreshTokenService.revokeAll(id);
         System.out.println("Password updated successfully for User ID: " + id);
     }
 
@@ -121,10 +191,18 @@ public class UserService {
 
     // Delete a user
     public void deleteUser(int id) {
-        if (!userRepository.existsById(id)) {
-            throw new CustomException("User not found with ID: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id).orElseThrow(() ->
+                new CustomException("User not found with ID: " + id));
+        userRepository.delete(user);
+        principalCache.evict(user.getEmail());
+        resourceVersions.usersChanged();
+        tokenRevocationList.revokeAll(id);  // Refresh tokens go with the row (ON DELETE CASCADE)
+    }
+
+    // The current state goes back to the client, so it is the public view without the password hash
+    private static VersionConflictException conflict(User current) {
+        return new VersionConflictException("User " + current.getId() + " was modified by someone else. Review the current version and retry.",
+                new UserDetailsResponse(current.getId(), current.getEmail(), current.getName(), current.getRole(), current.getVersion()));
     }
 
     // Method to register a new user with encoded password
@@ -136,6 +214,7 @@ public class UserService {
 
         // Encode the password before saving the user
         user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setVersion(null);  // A non-null version would make save() merge instead of insert
         return userRepository.save(user);
     }
 
@@ -144,30 +223,9 @@ public class UserService {
         return userRepository.existsByEmail(email);
     }
 
-    // Fetch user ID by email
-    public int getUserIdByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found for email: " + email));
-        return user.getId();
-    }
-
     // Fetch user by email
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
     }
-
-    // Fetch user details as a DTO by email
-    public UserDetailsResponse getUserDetailsByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found for email: " + email));
-
-        // Map User entity to UserDetailsResponse DTO
-        return new UserDetailsResponse(
-                user.getId(),
-                user.getEmail(),
-                user.getName(),
-                user.getRole() // Use the single role directly
-        );
-    }
 }
@@ -0,0 +1,87 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Makes sure every database has uk_project_assignments_project_user and idx_project_assignments_user.
+ * Databases baselined at V1 got them only if ddl-auto=update managed to add them, which it silently
+ * did not when duplicate assignments already existed. Duplicates are removed first, keeping the oldest
+ * assignment of each (project, user) pair. Written in Java because MySQL has no "ADD ... IF NOT EXISTS"
+ * for constraints and indexes; the indexes are matched by columns, whatever Hibernate named them.
+ */
+public class V5__unique_project_assignments extends BaseJavaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(V5__unique_project_assignments.class);
+
+    private static final String TABLE = "project_assignments";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Map<String, Index> indexes = indexes(connection);
+        boolean hasUniqueKey = indexes.values().stream()
+                .anyMatch(index -> index.unique && index.columns.size() == 2
+                        && index.columns.contains("project_id") && index.columns.contains("user_id"));
+        boolean hasUserIndex = indexes.values().stream()
+                .anyMatch(index -> index.columns.get(0).equals("user_id"));
+
+        try (Statement statement = connection.createStatement()) {
+            if (!hasUniqueKey) {
+                // The derived table lets MySQL read the table it deletes from
+                int removed = statement.executeUpdate("DELETE FROM project_assignments WHERE assignment_id NOT IN ("
+                        + "SELECT keep_id FROM (SELECT MIN(assignment_id) AS keep_id FROM project_assignments"
+                        + " GROUP BY project_id, user_id) kept)");
+                if (removed > 0) {
+                    logger.warn("Removed {} duplicate project assignments before adding the unique key", removed);
+                }
+                statement.execute("ALTER TABLE project_assignments"
+                        + " ADD CONSTRAINT uk_project_assignments_project_user UNIQUE (project_id, user_id)");
+            }
+            if (!hasUserIndex) {
+                statement.execute("CREATE INDEX idx_project_assignments_user ON project_assignments (user_id)");
+            }
+        }
+    }
+
+    // Indexes of the table by name, with their columns in index order (lower case)
+    private static Map<String, Index> indexes(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+        Map<String, Index> indexes = new LinkedHashMap<>();
+        try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, false)) {
+            while (rows.next()) {
+                String name = rows.getString("INDEX_NAME");
+                if (name == null) {
+                    continue;  // Table statistics row
+                }
+                Index index = indexes.computeIfAbsent(name, key -> new Index());
+                index.unique = !rows.getBoolean("NON_UNIQUE");
+                int position = rows.getShort("ORDINAL_POSITION");
+                while (index.columns.size() < position) {
+                    index.columns.add(null);
+                }
+                index.columns.set(position - 1, rows.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return indexes;
+    }
+
+    private static final class Index {
+        private boolean unique;
+        private final List<String> columns = new ArrayList<>();
+    }
+}
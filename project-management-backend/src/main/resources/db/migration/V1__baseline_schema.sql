@@ -0,0 +1,47 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+-- Plain MySQL 8 DDL (InnoDB is the default engine), which the H2 repository tests can run as well.
+
+CREATE TABLE users (
+    user_id    INT          NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(100) NOT NULL,
+    email      VARCHAR(100) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE projects (
+    project_id   INT          NOT NULL AUTO_INCREMENT,
+    project_name VARCHAR(150) NOT NULL,
+    description  TEXT,
+    created_by   INT          NOT NULL,
+    created_at   DATETIME(6)  NOT NULL,
+    status       VARCHAR(20)  NOT NULL,
+    PRIMARY KEY (project_id)
+);
+
+CREATE TABLE tasks (
+    task_id     INT          NOT NULL AUTO_INCREMENT,
+    task_name   VARCHAR(150) NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    project_id  INT          NOT NULL,
+    assigned_to INT          NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (task_id),
+    CONSTRAINT fk_tasks_project FOREIGN KEY (project_id) REFERENCES projects (project_id),
+    CONSTRAINT fk_tasks_assigned_to FOREIGN KEY (assigned_to) REFERENCES users (user_id)
+);
+
+CREATE TABLE project_assignments (
+    assignment_id INT         NOT NULL AUTO_INCREMENT,
+    project_id    INT         NOT NULL,
+    user_id       INT         NOT NULL,
+    assigned_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (assignment_id),
+    CONSTRAINT uk_project_assignments_project_user UNIQUE (project_id, user_id)
+);
+
+CREATE INDEX idx_project_assignments_user ON project_assignments (user_id);
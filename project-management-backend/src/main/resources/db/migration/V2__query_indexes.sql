@@ -0,0 +1,20 @@
+-- Indexes for the repository lookups. Every list is ordered newest first (created_at DESC, id DESC),
+-- so the sort columns trail the filter column and the keyset seek can walk the index without a filesort.
+
+-- ProjectRepository.findPageBy / findSliceBy / findAfter without filters
+CREATE INDEX idx_projects_created_at ON projects (created_at, project_id);
+
+-- ProjectRepository.findByStatus and the status page/slice/seek variants
+CREATE INDEX idx_projects_status_created_at ON projects (status, created_at, project_id);
+
+-- ProjectRepository.findByCreatedBy and the creator page/slice/seek variants
+CREATE INDEX idx_projects_created_by_created_at ON projects (created_by, created_at, project_id);
+
+-- Tasks of a project, optionally narrowed by status; also covers fk_tasks_project
+CREATE INDEX idx_tasks_project_status ON tasks (project_id, status);
+
+-- Tasks assigned to a user; also covers fk_tasks_assigned_to
+CREATE INDEX idx_tasks_assigned_to ON tasks (assigned_to);
+
+-- Tasks by status across projects
+CREATE INDEX idx_tasks_status ON tasks (status);
@@ -0,0 +1,9 @@
+-- Optimistic locking: Hibernate increments `version` on every update and adds it to the WHERE clause,
+-- so an update based on a stale read matches no row and is rejected instead of overwriting.
+-- Existing rows start at 0.
+
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,21 @@
+-- Refresh tokens for POST /api/users/auth/refresh. Only the SHA-256 of each token is stored, as 32 raw bytes.
+-- A refresh marks the presented token rotated and issues a successor in the same family (one per login);
+-- presenting a rotated token again deletes the whole family. Expired rows are purged by RefreshTokenService.
+
+CREATE TABLE refresh_tokens (
+    token_id   BIGINT      NOT NULL AUTO_INCREMENT,
+    token_hash BINARY(32)  NOT NULL,
+    user_id    INT         NOT NULL,
+    family_id  BIGINT      NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    rotated_at DATETIME(6),
+    PRIMARY KEY (token_id),
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,176 @@
+package com.projectmanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightCacheTest {
+
+    private final ConcurrentMapCache backing = new ConcurrentMapCache("test");
+    private final SingleFlightCache<String, String> cache = new SingleFlightCache<>(backing);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(8);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                return cache.get("key", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "value";
+                });
+            }));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);  // Lets every caller reach the in-flight load; late ones hit the cache instead
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals("value", backing.get("key", String.class));
+    }
+
+    @Test
+    void evictDuringLoadKeepsTheStaleValueOutOfTheCache() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> staleRead = executor.submit(() -> cache.get("key", () -> {
+            loading.countDown();
+            await(release);
+            return "stale";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // A write committed while the load was reading the old row
+        cache.evict("key");
+        release.countDown();
+
+        assertEquals("stale", staleRead.get(5, TimeUnit.SECONDS));
+        assertNull(backing.get("key"));
+        assertEquals("fresh", cache.get("key", () -> "fresh"));
+        assertEquals("fresh", backing.get("key", String.class));
+    }
+
+    @Test
+    void evictJustBeforeThePutKeepsTheStaleValueOutOfTheCache() {
+        EvictingCache racing = new EvictingCache(backing, true);
+
+        assertEquals("stale", racing.get("key", () -> "stale"));
+
+        assertNull(backing.get("key"));
+        assertEquals("fresh", racing.get("key", () -> "fresh"));
+    }
+
+    @Test
+    void evictJustAfterThePutKeepsTheStaleValueOutOfTheCache() {
+        EvictingCache racing = new EvictingCache(backing, false);
+
+        assertEquals("stale", racing.get("key", () -> "stale"));
+
+        assertNull(backing.get("key"));
+    }
+
+    @Test
+    void clearDuringLoadKeepsTheStaleValueOutOfTheCache() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> staleRead = executor.submit(() -> cache.get("key", () -> {
+            loading.countDown();
+            await(release);
+            return "stale";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        cache.clear();
+        release.countDown();
+
+        assertEquals("stale", staleRead.get(5, TimeUnit.SECONDS));
+        assertNull(backing.get("key"));
+    }
+
+    @Test
+    void failedLoadReachesEveryWaiterAndCachesNothing() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> cache.get("key", () -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalStateException("query failed");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<String> second = executor.submit(() -> cache.get("key", () -> "unexpected second load"));
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<String> result : List.of(first, second)) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertNull(backing.get("key"));
+    }
+
+    // Lands one evict() right before or right after the loaded value is put, as a concurrent write would
+    private static final class EvictingCache extends SingleFlightCache<String, String> {
+
+        private final boolean beforePut;
+        private boolean evicted;
+
+        private EvictingCache(ConcurrentMapCache backing, boolean beforePut) {
+            super(backing);
+            this.beforePut = beforePut;
+        }
+
+        @Override
+        void store(String key, String value) {
+            if (beforePut) {
+                evictOnce(key);
+            }
+            super.store(key, value);
+            if (!beforePut) {
+                evictOnce(key);
+            }
+        }
+
+        private void evictOnce(String key) {
+            if (!evicted) {
+                evicted = true;
+                evict(key);
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.dto.ProjectResponse;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.security.AuthenticatedUser;
+import com.projectmanagement.service.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectControllerTest {
+
+    // Any principal will do for the reads; the id is only used as the project creator
+    private static final AuthenticatedUser ADMIN = new AuthenticatedUser(1, "admin@example.com", "Admin", "ADMIN");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectService projectService;
+
+    private ProjectResponse project;
+
+    @BeforeEach
+    void setUp() {
+        Project newProject = new Project();
+        newProject.setProjectName("ETag project");
+        newProject.setDescription("Before");
+        newProject.setCreatedBy(ADMIN.getId());
+        newProject.setStatus("IN_PROGRESS");
+        project = projectService.createProject(newProject);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWith304AndNoBody() throws Exception {
+        String etag = etagOf("/api/projects/" + project.id());
+
+        mockMvc.perform(get("/api/projects/" + project.id()).with(user(ADMIN)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void etagChangesOnceAnUpdateIsCommitted() throws Exception {
+        String projectEtag = etagOf("/api/projects/" + project.id());
+        String listEtag = etagOf("/api/projects");
+
+        mockMvc.perform(put("/api/projects/" + project.id()).with(user(ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"projectName\": \"ETag project\", \"description\": \"After\", \"createdBy\": 1,"
+                                + " \"status\": \"IN_PROGRESS\", \"version\": " + project.version() + "}"))
+                .andExpect(status().isOk());
+
+        // The old ETag no longer matches: the new body is served with a new ETag
+        MvcResult result = mockMvc.perform(get("/api/projects/" + project.id()).with(user(ADMIN))
+                        .header(HttpHeaders.IF_NONE_MATCH, projectEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("After"))
+                .andReturn();
+        assertNotEquals(projectEtag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/projects").with(user(ADMIN)).header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateWithAnOutdatedVersionIsAnsweredWith409AndTheCurrentProject() throws Exception {
+        String body = "{\"projectName\": \"%s\", \"description\": \"Before\", \"createdBy\": 1,"
+                + " \"status\": \"IN_PROGRESS\", \"version\": " + project.version() + "}";
+        mockMvc.perform(put("/api/projects/" + project.id()).with(user(ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON).content(body.formatted("First")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/projects/" + project.id()).with(user(ADMIN))
+                        .contentType(MediaType.APPLICATION_JSON).content(body.formatted("Second")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.current.projectName").value("First"))
+                .andExpect(jsonPath("$.current.version").value(project.version() + 1));
+    }
+
+    private String etagOf(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).with(user(ADMIN)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+}
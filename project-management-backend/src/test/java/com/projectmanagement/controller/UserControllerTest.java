@@ -0,0 +1,150 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.AuthenticatedUser;
+import com.projectmanagement.security.JwtUtil;
+import com.projectmanagement.service.RefreshTokenService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private AuthenticatedUser user;
+
+    @BeforeEach
+    void setUp() {
+        User saved = new User();
+        saved.setName("Session User");
+        saved.setEmail("session-" + System.nanoTime() + "@example.com");
+        saved.setPassword(passwordEncoder.encode("secret"));
+        saved.setRole("USER");
+        user = AuthenticatedUser.from(userRepository.save(saved));
+    }
+
+    @Test
+    void loginIssuesATokenForTheUser() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/users/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + user.getEmail() + "\", \"password\": \"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(user.getId(), jwtUtil.verify(result.getResponse().getContentAsString()).getUserId());
+        mockMvc.perform(post("/api/users/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + user.getEmail() + "\", \"password\": \"wrong\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshWorksOnceTheAccessTokenHasExpired() throws Exception {
+        String refreshToken = refreshTokenService.issue(user.getId());
+
+        MvcResult result = mockMvc.perform(post("/api/users/auth/refresh")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + expiredAccessToken())
+                        .cookie(new Cookie("refresh_token", refreshToken)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String accessToken = result.getResponse().getContentAsString();
+        assertEquals(user.getEmail(), jwtUtil.verify(accessToken).getSubject());
+        Cookie rotated = result.getResponse().getCookie("refresh_token");
+        assertNotEquals(refreshToken, rotated.getValue());
+        mockMvc.perform(get("/api/users/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(user.getEmail()));
+    }
+
+    @Test
+    void replayedRefreshTokenEndsTheSession() throws Exception {
+        String refreshToken = refreshTokenService.issue(user.getId());
+        MvcResult first = mockMvc.perform(post("/api/users/auth/refresh").cookie(new Cookie("refresh_token", refreshToken)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String successor = first.getResponse().getCookie("refresh_token").getValue();
+
+        mockMvc.perform(post("/api/users/auth/refresh").cookie(new Cookie("refresh_token", refreshToken)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/users/auth/refresh").cookie(new Cookie("refresh_token", successor)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutWithAnExpiredAccessTokenStillRevokesTheRefreshToken() throws Exception {
+        String refreshToken = refreshTokenService.issue(user.getId());
+
+        mockMvc.perform(post("/api/users/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + expiredAccessToken())
+                        .cookie(new Cookie("refresh_token", refreshToken)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/users/auth/refresh").cookie(new Cookie("refresh_token", refreshToken)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutRevokesTheAccessTokenSentInTheBody() throws Exception {
+        String accessToken = jwtUtil.generateToken(user);
+        mockMvc.perform(get("/api/users/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/users/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"" + accessToken + "\"}")
+                        .cookie(new Cookie("refresh_token", refreshTokenService.issue(user.getId()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // Issued 16 minutes ago with the 15 minute lifetime
+    private String expiredAccessToken() {
+        ReflectionTestUtils.setField(jwtUtil, "clock", Clock.offset(Clock.systemUTC(), Duration.ofMinutes(-16)));
+        try {
+            return jwtUtil.generateToken(user);
+        } finally {
+            ReflectionTestUtils.setField(jwtUtil, "clock", Clock.systemUTC());
+        }
+    }
+}
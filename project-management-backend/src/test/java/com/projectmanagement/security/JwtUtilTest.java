@@ -0,0 +1,104 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.config.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.JWT_CLAIMS, CacheConfig.jwtClaimsCache(100));
+        jwtUtil = new JwtUtil(cacheManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", "abcdefghijklmnopqrstuvwxyz123456");
+        ReflectionTestUtils.setField(jwtUtil, "tokenValidity", Duration.ofMinutes(15));
+        jwtUtil.init();
+        user = new AuthenticatedUser(1, "user@example.com", "User", "USER");
+    }
+
+    @Test
+    void cachedTokenIsServedFromMemory() {
+        String token = jwtUtil.generateToken(user);
+
+        JwtClaims first = jwtUtil.verify(token);
+
+        assertSame(first, jwtUtil.verify(token));
+        assertEquals("user@example.com", first.getSubject());
+        assertTrue(jwtUtil.validateToken(first, user));
+    }
+
+    @Test
+    void reusedSignatureWithTamperedPayloadIsRejected() {
+        String token = jwtUtil.generateToken(user);
+        jwtUtil.verify(token);  // Signature now cached
+        String[] parts = token.split("\\.");
+
+        String payload = decode(parts[1]).replace("user@example.com", "admin@example.com");
+        String forged = parts[0] + "." + encode(payload) + "." + parts[2];
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.verify(forged));
+        // The rejected forgery must not displace the genuine entry
+        assertEquals("user@example.com", jwtUtil.verify(token).getSubject());
+    }
+
+    @Test
+    void reusedSignatureWithTamperedHeaderIsRejected() {
+        String token = jwtUtil.generateToken(user);
+        jwtUtil.verify(token);
+        String[] parts = token.split("\\.");
+
+        // Same meaning, different bytes: the signature no longer covers them
+        String header = decode(parts[0]).replace("{", "{ ");
+        String forged = encode(header) + "." + parts[1] + "." + parts[2];
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.verify(forged));
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceExpired() {
+        String token = jwtUtil.generateToken(user);
+        JwtClaims claims = jwtUtil.verify(token);
+
+        // Past "exp"; the cache entry itself is still there, it expires on the system clock
+        ReflectionTestUtils.setField(jwtUtil, "clock", Clock.offset(Clock.systemUTC(), Duration.ofMinutes(16)));
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.verify(token));
+        assertFalse(jwtUtil.validateToken(claims, user));
+    }
+
+    @Test
+    void expiredTokenIsRejectedOnFirstVerification() {
+        ReflectionTestUtils.setField(jwtUtil, "clock", Clock.offset(Clock.systemUTC(), Duration.ofMinutes(-16)));
+        String token = jwtUtil.generateToken(user);
+        ReflectionTestUtils.setField(jwtUtil, "clock", Clock.systemUTC());
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.verify(token));
+    }
+
+    private static String decode(String part) {
+        return new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
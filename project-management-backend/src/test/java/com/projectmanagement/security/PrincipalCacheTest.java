@@ -0,0 +1,64 @@
+package com.projectmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projectmanagement.config.CacheConfig;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.service.CustomUserDetailsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PrincipalCacheTest {
+
+    private CustomUserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(7);
+        user.setName("User");
+        user.setEmail("user@example.com");
+        user.setPassword("$2a$10$hash");
+        user.setRole("USER");
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.PRINCIPALS, Caffeine.newBuilder().build());
+        userDetailsService = new CustomUserDetailsService(userRepository);
+        principalCache = new PrincipalCache(cacheManager, userDetailsService);
+    }
+
+    @Test
+    void cachedPrincipalCarriesNoPasswordHash() {
+        AuthenticatedUser principal = principalCache.get("user@example.com");
+
+        assertNull(principal.getPassword());
+        assertEquals(7, principal.getId());
+        assertEquals("ROLE_USER", principal.getAuthorities().iterator().next().getAuthority());
+        assertSame(principal, principalCache.get("user@example.com"));
+    }
+
+    @Test
+    void erasingLoginCredentialsLeavesTheCachedPrincipalAlone() {
+        AuthenticatedUser cached = principalCache.get("user@example.com");
+
+        UserCredentials credentials = (UserCredentials) userDetailsService.loadUserByUsername("user@example.com");
+        assertEquals("$2a$10$hash", credentials.getPassword());
+        credentials.eraseCredentials();
+
+        assertNull(credentials.getPassword());
+        assertSame(cached, principalCache.get("user@example.com"));
+        assertEquals("user@example.com", cached.getUsername());
+    }
+}
@@ -0,0 +1,93 @@
+package com.projectmanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projectmanagement.config.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.RATE_LIMIT_BUCKETS, Caffeine.newBuilder().build());
+        // auth 5 per IP, login 2 per IP and email, session 3 per IP, writes 50; refills are negligible here
+        filter = new RateLimitFilter(mock(JwtUtil.class), new ObjectMapper(), cacheManager, new SimpleMeterRegistry(),
+                true, 5, 0.001, 2, 0.001, 3, 0.001, 50, 10);
+    }
+
+    @Test
+    void loginIsLimitedPerEmailNotForTheWholeAddress() throws Exception {
+        assertEquals(200, login("alice@example.com").getStatus());
+        assertEquals(200, login("Alice@Example.com ").getStatus());
+        MockHttpServletResponse limited = login("alice@example.com");
+        assertEquals(429, limited.getStatus());
+        assertNotNull(limited.getHeader("Retry-After"));
+
+        // Another user behind the same address still gets in, until the per-IP hashing cap
+        assertEquals(200, login("bob@example.com").getStatus());
+        assertEquals(200, login("bob@example.com").getStatus());
+        assertEquals(429, login("carol@example.com").getStatus());
+    }
+
+    @Test
+    void loginBodyStillReachesTheController() throws Exception {
+        MockHttpServletRequest request = post("/api/users/auth/login");
+        String json = "{\"email\": \"alice@example.com\", \"password\": \"secret\"}";
+        request.setContent(json.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        String forwarded = StreamUtils.copyToString(((HttpServletRequest) chain.getRequest()).getInputStream(), StandardCharsets.UTF_8);
+        assertEquals(json, forwarded);
+    }
+
+    @Test
+    void refreshHasItsOwnBucket() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            login("user" + i + "@example.com");
+        }
+        assertEquals(429, login("next@example.com").getStatus());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send(post("/api/users/auth/refresh")).getStatus());
+        }
+        assertEquals(429, send(post("/api/users/auth/refresh")).getStatus());
+    }
+
+    private MockHttpServletResponse login(String email) throws Exception {
+        MockHttpServletRequest request = post("/api/users/auth/login");
+        request.setContent(("{\"email\": \"" + email + "\", \"password\": \"wrong\"}").getBytes(StandardCharsets.UTF_8));
+        return send(request);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest post(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType("application/json");
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+}
@@ -0,0 +1,85 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationListTest {
+
+    // 400 ms into a second
+    private static final long NOW = 1_700_000_000_400L;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.REVOKED_TOKENS, CacheConfig.revokedTokensCache());
+        cacheManager.registerCustomCache(CacheConfig.REVOCATION_WATERMARKS, CacheConfig.revocationWatermarksCache(Duration.ofMinutes(15)));
+        revocationList = new TokenRevocationList(cacheManager);
+        ReflectionTestUtils.setField(revocationList, "clock", Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    @Test
+    void revokedTokenIdIsDeniedUntilItExpires() {
+        // The deny-list expires entries on the system clock
+        long issuedAt = System.currentTimeMillis();
+        JwtClaims revoked = claims(1, "jti-1", issuedAt);
+        JwtClaims sibling = claims(1, "jti-2", issuedAt);
+
+        assertTrue(revocationList.revoke(revoked));
+
+        assertTrue(revocationList.isRevoked(revoked));
+        assertFalse(revocationList.isRevoked(sibling));
+    }
+
+    @Test
+    void tokenWithoutIdCannotBeRevokedOnItsOwn() {
+        JwtClaims claims = claims(1, null, NOW - 1000);
+
+        assertFalse(revocationList.revoke(claims));
+        assertFalse(revocationList.isRevoked(claims));
+    }
+
+    @Test
+    void watermarkCoversTokensIssuedUpToTheSecondOfTheRevocation() {
+        revocationList.revokeAll(1);
+
+        // "iat" is truncated to seconds: a token issued 300 ms before the revocation carries NOW - 400
+        assertTrue(revocationList.isRevoked(claims(1, "before", NOW - 1400)));
+        assertTrue(revocationList.isRevoked(claims(1, "same-second", NOW - 400)));
+        // Issued in the next second, after the revocation
+        assertFalse(revocationList.isRevoked(claims(1, "next-second", NOW + 600)));
+        // Other users are not affected
+        assertFalse(revocationList.isRevoked(claims(2, "other-user", NOW - 400)));
+    }
+
+    @Test
+    void watermarksAreNotEvictedBySize() {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> watermarks =
+                CacheConfig.revocationWatermarksCache(Duration.ofMinutes(15));
+        for (int userId = 0; userId < 200_000; userId++) {
+            watermarks.put(userId, NOW);
+        }
+        watermarks.cleanUp();
+
+        assertNotNull(watermarks.getIfPresent(0));
+    }
+
+    private static JwtClaims claims(int userId, String tokenId, long issuedAt) {
+        return new JwtClaims("token", "user" + userId + "@example.com", "ROLE_USER", userId, "User", tokenId,
+                new Date(issuedAt), new Date(issuedAt + Duration.ofMinutes(15).toMillis()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.BulkAssignmentResult;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({ProjectAssignmentService.class, ResourceVersions.class})
+class ProjectAssignmentServiceTest {
+
+    @Autowired
+    private ProjectAssignmentService projectAssignmentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void bulkAssignSkipsExistingAssignmentsAndReportsEachUser() {
+        User existingMember = user("Existing");
+        User newMember = user("New");
+        User otherNewMember = user("Other");
+        Project project = project(existingMember);
+        ProjectAssignment existing = new ProjectAssignment();
+        existing.setProjectId(project.getId());
+        existing.setUserId(existingMember.getId());
+        existing.setAssignedAt(new Date());
+        entityManager.persist(existing);
+        entityManager.flush();
+        int unknownUserId = otherNewMember.getId() + 1000;
+
+        List<BulkAssignmentResult> results = projectAssignmentService.assignUsersToProject(project.getId(),
+                List.of(newMember.getId(), existingMember.getId(), unknownUserId, otherNewMember.getId(), newMember.getId()));
+
+        // One result per distinct user, in request order
+        assertEquals(4, results.size());
+        assertResult(results.get(0), newMember.getId(), BulkAssignmentResult.ASSIGNED, "New");
+        assertNotNull(results.get(0).getAssignmentId());
+        assertResult(results.get(1), existingMember.getId(), BulkAssignmentResult.ALREADY_ASSIGNED, "Existing");
+        assertEquals(existing.getAssignmentId(), results.get(1).getAssignmentId());
+        assertResult(results.get(2), unknownUserId, BulkAssignmentResult.USER_NOT_FOUND, null);
+        assertNull(results.get(2).getAssignmentId());
+        assertResult(results.get(3), otherNewMember.getId(), BulkAssignmentResult.ASSIGNED, "Other");
+
+        entityManager.clear();
+        List<ProjectAssignment> assignments = projectAssignmentService.getAssignmentsByProject(project.getId());
+        assertEquals(3, assignments.size());
+    }
+
+    @Test
+    void bulkAssignOfAlreadyAssignedUsersWritesNothing() {
+        User member = user("Member");
+        Project project = project(member);
+        projectAssignmentService.assignUsersToProject(project.getId(), List.of(member.getId()));
+
+        List<BulkAssignmentResult> results = projectAssignmentService.assignUsersToProject(project.getId(), List.of(member.getId()));
+
+        assertResult(results.get(0), member.getId(), BulkAssignmentResult.ALREADY_ASSIGNED, "Member");
+        assertEquals(1, projectAssignmentService.getAssignmentsByProject(project.getId()).size());
+    }
+
+    private static void assertResult(BulkAssignmentResult result, int userId, String status, String name) {
+        assertEquals(userId, result.getUserId());
+        assertEquals(status, result.getStatus());
+        assertEquals(name, result.getName());
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "-" + System.nanoTime() + "@example.com");
+        user.setPassword("secret");
+        user.setRole("USER");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Project project(User creator) {
+        Project project = new Project();
+        project.setProjectName("Project");
+        project.setCreatedBy(creator.getId());
+        entityManager.persist(project);
+        return project;
+    }
+}
@@ -0,0 +1,123 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.ProjectDeletionProgress;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.ProjectAssignmentRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Small limits so a handful of rows already takes the chunked background path
+@SpringBootTest(properties = {
+        "project.deletion.max-single-transaction-rows=5",
+        "project.deletion.chunk-size=2"
+})
+@ActiveProfiles("test")
+class ProjectDeletionServiceTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectAssignmentRepository projectAssignmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void smallProjectIsDeletedInOneTransaction() {
+        int projectId = projectWith(2, 1);
+
+        ProjectDeletionProgress progress = projectService.deleteProject(projectId);
+
+        assertEquals(ProjectDeletionProgress.COMPLETED, progress.state());
+        assertEquals(2, progress.tasksDeleted());
+        assertEquals(1, progress.assignmentsDeleted());
+        assertDeleted(projectId);
+    }
+
+    @Test
+    void largeProjectIsDeletedInChunksInTheBackground() throws InterruptedException {
+        int projectId = projectWith(7, 3);
+
+        ProjectDeletionProgress started = projectService.deleteProject(projectId);
+
+        assertTrue(started.isRunning());
+        assertEquals(7, started.tasksTotal());
+        assertEquals(3, started.assignmentsTotal());
+
+        ProjectDeletionProgress progress = started;
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (progress.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            progress = projectService.getDeletionProgress(projectId).orElseThrow();
+        }
+        assertEquals(ProjectDeletionProgress.COMPLETED, progress.state());
+        assertEquals(7, progress.tasksDeleted());
+        assertEquals(3, progress.assignmentsDeleted());
+        assertNotNull(progress.finishedAt());
+        assertDeleted(projectId);
+    }
+
+    private void assertDeleted(int projectId) {
+        assertEquals(0, taskRepository.countByProjectId(projectId));
+        assertEquals(0, projectAssignmentRepository.countByProjectId(projectId));
+        assertFalse(projectRepository.existsById(projectId));
+        assertFalse(projectService.getProjectById(projectId).isPresent());
+    }
+
+    private int projectWith(int tasks, int assignments) {
+        User user = new User();
+        user.setName("Member");
+        user.setEmail("member-" + System.nanoTime() + "@example.com");
+        user.setPassword("secret");
+        user.setRole("USER");
+        userRepository.save(user);
+
+        Project project = new Project();
+        project.setProjectName("Doomed");
+        project.setCreatedBy(user.getId());
+        project.setStatus("IN_PROGRESS");
+        projectRepository.save(project);
+        // Cached like a real read before the DELETE, so the eviction is covered too
+        projectService.getProjectById(project.getId());
+
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task();
+            task.setTaskName("Task " + i);
+            task.setStatus("TODO");
+            task.setProject(project);
+            task.setAssignedTo(user);
+            task.setCreatedAt(new Date());
+            taskRepository.save(task);
+        }
+        for (int i = 0; i < assignments; i++) {
+            ProjectAssignment assignment = new ProjectAssignment();
+            assignment.setProjectId(project.getId());
+            assignment.setUserId(user.getId() + i);
+            assignment.setAssignedAt(new Date());
+            projectAssignmentRepository.save(assignment);
+        }
+        return project.getId();
+    }
+}
@@ -0,0 +1,159 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.BulkStatusRequest;
+import com.projectmanagement.dto.BulkStatusResult;
+import com.projectmanagement.dto.ProjectPatchRequest;
+import com.projectmanagement.dto.ProjectResponse;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.VersionConflictException;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectServiceTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void updateWithCurrentVersionIncrementsIt() {
+        ProjectResponse created = createProject("Versioned");
+
+        ProjectResponse updated = projectService.updateProject(created.id(), changes(created, "Renamed", created.version()));
+
+        assertEquals("Renamed", updated.projectName());
+        assertEquals(created.version() + 1, updated.version());
+    }
+
+    @Test
+    void updateBasedOnAnOutdatedVersionIsRejectedWithTheCurrentState() {
+        ProjectResponse created = createProject("Contended");
+        // Two clients read the same version; the first one saves
+        projectService.updateProject(created.id(), changes(created, "First", created.version()));
+
+        VersionConflictException conflict = assertThrows(VersionConflictException.class,
+                () -> projectService.updateProject(created.id(), changes(created, "Second", created.version())));
+
+        ProjectResponse current = (ProjectResponse) conflict.getCurrent();
+        assertEquals("First", current.projectName());
+        assertEquals(created.version() + 1, current.version());
+        assertEquals("First", projectRepository.findById(created.id()).orElseThrow().getProjectName());
+    }
+
+    @Test
+    void patchWritesOnlyTheGivenFieldsAndIncrementsTheVersion() {
+        ProjectResponse created = createProject("Patched");
+
+        projectService.patchProject(created.id(), new ProjectPatchRequest(null, null, "COMPLETED", created.version()));
+
+        ProjectResponse patched = projectService.getProjectById(created.id()).orElseThrow();
+        assertEquals("Patched", patched.projectName());
+        assertEquals("Description", patched.description());
+        assertEquals("COMPLETED", patched.status());
+        assertEquals(created.version() + 1, patched.version());
+    }
+
+    @Test
+    void patchWithAnOutdatedVersionIsRejectedWithTheCurrentState() {
+        ProjectResponse created = createProject("Patch contended");
+        projectService.patchProject(created.id(), new ProjectPatchRequest("First", null, null, created.version()));
+
+        VersionConflictException conflict = assertThrows(VersionConflictException.class, () ->
+                projectService.patchProject(created.id(), new ProjectPatchRequest("Second", null, null, created.version())));
+
+        assertEquals("First", ((ProjectResponse) conflict.getCurrent()).projectName());
+        assertEquals("First", projectRepository.findById(created.id()).orElseThrow().getProjectName());
+    }
+
+    @Test
+    void patchOfAMissingProjectIsNotAConflict() {
+        assertThrows(ResourceNotFoundException.class, () ->
+                projectService.patchProject(Integer.MAX_VALUE, new ProjectPatchRequest("Ghost", null, null, 0L)));
+    }
+
+    @Test
+    void bulkStatusChangeIncrementsTheVersionsOfChangedProjectsAndTasks() {
+        ProjectResponse moving = createProject("Moving");
+        ProjectResponse done = createProject("Done");
+        projectService.patchProject(done.id(), new ProjectPatchRequest(null, null, "COMPLETED", null));
+        long doneVersion = projectService.getProjectById(done.id()).orElseThrow().version();
+        Task task = createTask(moving.id());
+
+        BulkStatusResult result = projectService.updateStatus(
+                new BulkStatusRequest(List.of(moving.id(), done.id()), null, null, "COMPLETED", "DONE"));
+
+        assertEquals(1, result.projectsUpdated());
+        assertEquals(1, result.tasksUpdated());
+        // Served from the project cache, which the bulk update evicted
+        ProjectResponse moved = projectService.getProjectById(moving.id()).orElseThrow();
+        assertEquals("COMPLETED", moved.status());
+        assertEquals(moving.version() + 1, moved.version());
+        assertEquals(doneVersion, projectService.getProjectById(done.id()).orElseThrow().version());
+        assertEquals(task.getVersion() + 1, taskRepository.findById(task.getId()).orElseThrow().getVersion());
+
+        // A client still holding the pre-bulk version must not overwrite the new status
+        assertThrows(VersionConflictException.class,
+                () -> projectService.updateProject(moving.id(), changes(moving, "Moving", moving.version())));
+    }
+
+    private ProjectResponse createProject(String name) {
+        Project project = new Project();
+        project.setProjectName(name);
+        project.setDescription("Description");
+        project.setCreatedBy(1);
+        project.setStatus("IN_PROGRESS");
+        return projectService.createProject(project);
+    }
+
+    private Task createTask(int projectId) {
+        User user = new User();
+        user.setName("Assignee");
+        user.setEmail("assignee-" + System.nanoTime() + "@example.com");
+        user.setPassword("secret");
+        user.setRole("USER");
+        userRepository.save(user);
+
+        Task task = new Task();
+        task.setTaskName("Task");
+        task.setStatus("TODO");
+        task.setProject(projectRepository.findById(projectId).orElseThrow());
+        task.setAssignedTo(user);
+        task.setCreatedAt(new Date());
+        return taskRepository.save(task);
+    }
+
+    // A full update as sent by PUT /api/projects/{id}, echoing the version the client read
+    private static Project changes(ProjectResponse read, String projectName, Long version) {
+        Project project = new Project();
+        project.setProjectName(projectName);
+        project.setDescription(read.description());
+        project.setCreatedBy(read.createdBy());
+        project.setStatus(read.status());
+        project.setVersion(version);
+        return project;
+    }
+}
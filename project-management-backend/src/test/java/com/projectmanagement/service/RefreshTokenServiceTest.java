@@ -0,0 +1,98 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.exception.AuthenticationException;
+import com.projectmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(RefreshTokenService.class)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("User");
+        user.setEmail("user-" + System.nanoTime() + "@example.com");
+        user.setPassword("secret");
+        user.setRole("USER");
+        entityManager.persist(user);
+    }
+
+    @Test
+    void rotationReturnsASuccessorForTheSameUser() {
+        String issued = refreshTokenService.issue(user.getId());
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(issued);
+
+        assertEquals(user.getId(), rotation.userId());
+        assertNotEquals(issued, rotation.token());
+        // The successor rotates in turn
+        assertEquals(user.getId(), refreshTokenService.rotate(rotation.token()).userId());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        String issued = refreshTokenService.issue(user.getId());
+        String otherSession = refreshTokenService.issue(user.getId());
+        String successor = refreshTokenService.rotate(issued).token();
+
+        // The old token was copied: both it and the successor it led to stop working
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.rotate(issued));
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.rotate(successor));
+        assertEquals(1L, tokenRows(), "only the other session's token is left");
+
+        // Other logins of the same user are separate families
+        assertEquals(user.getId(), refreshTokenService.rotate(otherSession).userId());
+    }
+
+    @Test
+    void unknownAndExpiredTokensAreRejected() {
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.rotate("not-a-token"));
+
+        String issued = refreshTokenService.issue(user.getId());
+        entityManager.createQuery("update RefreshToken t set t.expiresAt = :past where t.userId = :userId")
+                .setParameter("past", new Date(System.currentTimeMillis() - 1000))
+                .setParameter("userId", user.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.rotate(issued));
+    }
+
+    @Test
+    void revokeEndsOnlyTheTokensSession() {
+        String loggedOut = refreshTokenService.issue(user.getId());
+        String successor = refreshTokenService.rotate(loggedOut).token();
+        String otherSession = refreshTokenService.issue(user.getId());
+
+        refreshTokenService.revoke(successor);
+
+        assertThrows(AuthenticationException.class, () -> refreshTokenService.rotate(successor));
+        assertEquals(user.getId(), refreshTokenService.rotate(otherSession).userId());
+    }
+
+    private long tokenRows() {
+        return entityManager.createQuery("select count(t) from RefreshToken t where t.userId = :userId", Long.class)
+                .setParameter("userId", user.getId())
+                .getSingleResult();
+    }
+}
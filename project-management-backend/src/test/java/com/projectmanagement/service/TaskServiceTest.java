@@ -0,0 +1,76 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.TaskResponse;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TaskService.class)
+class TaskServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void getAllTasksIssuesOneStatementRegardlessOfTaskCount() {
+        assertEquals(1, statementsToListTasks(1));
+        assertEquals(1, statementsToListTasks(25));
+    }
+
+    // Adds `count` tasks, each with its own project and assignee, then counts the statements needed to list every task
+    private long statementsToListTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "-" + System.nanoTime() + "@example.com");
+            user.setPassword("secret");
+            user.setRole("USER");
+            entityManager.persist(user);
+
+            Project project = new Project();
+            project.setProjectName("Project " + i);
+            project.setCreatedBy(user.getId());
+            entityManager.persist(project);
+
+            Task task = new Task();
+            task.setTaskName("Task " + i);
+            task.setStatus("TODO");
+            task.setProject(project);
+            task.setAssignedTo(user);
+            task.setCreatedAt(new Date());
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        long tasksInDatabase = entityManager.createQuery("select count(t) from Task t", Long.class).getSingleResult();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TaskResponse> tasks = taskService.getAllTasks();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(tasksInDatabase, tasks.size());
+        tasks.forEach(task -> assertEquals("User " + task.taskName().substring("Task ".length()), task.assignedToName()));
+        return statements;
+    }
+}
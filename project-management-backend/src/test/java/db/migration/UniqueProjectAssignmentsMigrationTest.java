@@ -0,0 +1,91 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UniqueProjectAssignmentsMigrationTest {
+
+    private Connection connection;
+    private Context context;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:v5-" + System.nanoTime(), "sa", "");
+        context = Mockito.mock(Context.class);
+        Mockito.when(context.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void removesDuplicatesAndAddsMissingKeys() throws Exception {
+        // As left by ddl-auto=update when duplicates kept it from adding the constraint
+        execute("CREATE TABLE project_assignments (assignment_id INT NOT NULL AUTO_INCREMENT, project_id INT NOT NULL,"
+                + " user_id INT NOT NULL, assigned_at TIMESTAMP NOT NULL, PRIMARY KEY (assignment_id))");
+        execute("INSERT INTO project_assignments (project_id, user_id, assigned_at) VALUES"
+                + " (1, 10, CURRENT_TIMESTAMP), (1, 10, CURRENT_TIMESTAMP), (1, 11, CURRENT_TIMESTAMP),"
+                + " (2, 10, CURRENT_TIMESTAMP), (1, 10, CURRENT_TIMESTAMP)");
+
+        new V5__unique_project_assignments().migrate(context);
+
+        assertEquals(List.of(1, 3, 4), assignmentIds());
+        assertThrows(SQLException.class, () ->
+                execute("INSERT INTO project_assignments (project_id, user_id, assigned_at) VALUES (2, 10, CURRENT_TIMESTAMP)"));
+        assertEquals(1, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES"
+                + " WHERE INDEX_NAME = 'IDX_PROJECT_ASSIGNMENTS_USER'"));
+    }
+
+    @Test
+    void leavesSchemaFromBaselineMigrationAlone() throws Exception {
+        execute("CREATE TABLE project_assignments (assignment_id INT NOT NULL AUTO_INCREMENT, project_id INT NOT NULL,"
+                + " user_id INT NOT NULL, assigned_at TIMESTAMP NOT NULL, PRIMARY KEY (assignment_id),"
+                + " CONSTRAINT uk_project_assignments_project_user UNIQUE (project_id, user_id))");
+        execute("CREATE INDEX idx_project_assignments_user ON project_assignments (user_id)");
+        int indexesBefore = count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES");
+
+        new V5__unique_project_assignments().migrate(context);
+
+        assertEquals(indexesBefore, count("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES"));
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    private List<Integer> assignmentIds() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT assignment_id FROM project_assignments ORDER BY assignment_id")) {
+            while (rows.next()) {
+                ids.add(rows.getInt(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -3,31 +3,68 @@ import axios from 'axios';
 // Create an Axios instance
 const api = axios.create({
   baseURL: process.env.REACT_APP_API_URL || 'http://localhost:8080/api', // Backend base URL
+  withCredentials: true, // Sends the HttpOnly refresh token cookie to /users/auth/*
   headers: {
     'Content-Type': 'application/json', // Default headers
   },
 });
 
+// Authenticated by password or the refresh cookie; an expired access token must not be sent to them
+const CREDENTIAL_ENDPOINTS = ['/users/auth/login', '/users/auth/register', '/users/auth/refresh', '/users/auth/logout'];
+
 // Add a request interceptor to attach JWT token
 api.interceptors.request.use(
   (config) => {
-    const token = sessionStorage.getItem('jwt'); // Retrieve token from sessionStorage
-    if (token) {
-      config.headers.Authorization = `Bearer ${token}`; // Attach token
+    const token = sessionStorage.getItem('token'); // Retrieve token from sessionStorage (set by AuthContext.login)
+    if (token && !config.headers.Authorization && !CREDENTIAL_ENDPOINTS.includes(config.url)) {
+      config.headers.Authorization = `Bearer ${token}`; // Attach token unless the caller passed one
     }
     return config;
   },
   (error) => Promise.reject(error)
 );
 
+// Access tokens are short-lived; one refresh at a time, shared by every request that hit a 401 meanwhile
+let refreshing = null;
+
+const refreshAccessToken = () => {
+  if (!refreshing) {
+    refreshing = api
+      .post('/users/auth/refresh')
+      .then((response) => {
+        sessionStorage.setItem('token', response.data);
+        return response.data;
+      })
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+};
+
 // Add a response interceptor for handling errors
 api.interceptors.response.use(
   (response) => response, // Pass successful responses
-  (error) => {
+  async (error) => {
+    const request = error.config;
     if (error.response && error.response.status === 401) {
-      // Handle token expiration or unauthorized access
-      sessionStorage.removeItem('jwt'); // Clear the token from sessionStorage
-      window.location.replace('/login'); // Redirect to login page
+      // Expired access token: renew it once and replay the request (not for login/refresh/logout themselves)
+      if (request && !request._retried && !request.url.startsWith('/users/auth/')) {
+        request._retried = true;
+        try {
+          const token = await refreshAccessToken();
+          request.headers.Authorization = `Bearer ${token}`;
+          return api(request);
+        } catch (refreshError) {
+          // Fall through to the login redirect
+        }
+      }
+      if (!request || request.url !== '/users/auth/login') {
+        // Handle token expiration or unauthorized access
+        sessionStorage.removeItem('token'); // Clear the token from sessionStorage
+        sessionStorage.removeItem('user');
+        window.location.replace('/login'); // Redirect to login page
+      }
     }
     return Promise.reject(error); // Pass the error for further handling
   }
@@ -92,6 +92,37 @@ export const assignUserToProject = async (assignment) => {
   }
 };
 
+// Assign many users to a project in one request (only admins); resolves to one result per user
+export const assignUsersToProject = async (projectId, userIds) => {
+  try {
+    const token = getToken();
+    const response = await api.post('/projects/project-assignments/bulk', { projectId, userIds }, {
+      headers: {
+        Authorization: `Bearer ${token}`,
+      },
+    });
+    return response.data;
+  } catch (error) {
+    handleError(error);
+  }
+};
+
+// Remove many users from a project in one request (only admins); resolves to one result per user
+export const removeUsersFromProject = async (projectId, userIds) => {
+  try {
+    const token = getToken();
+    const response = await api.delete('/projects/project-assignments/bulk', {
+      data: { projectId, userIds },
+      headers: {
+        Authorization: `Bearer ${token}`,
+      },
+    });
+    return response.data;
+  } catch (error) {
+    handleError(error);
+  }
+};
+
 // Remove a user from a project
 export const removeUserFromProject = async (projectId, userId) => {
   try {
@@ -122,6 +153,22 @@ export const getAssignmentsByProject = async (projectId) => {
   }
 };
 
+// Fetch a page of a project's members (assignment + user name) in a single request
+export const getProjectMembers = async (projectId, page = 0, size = 50) => {
+  try {
+    const token = getToken();
+    const response = await api.get(`/projects/project-assignments/project/${projectId}/members`, {
+      params: { page, size },
+      headers: {
+        Authorization: `Bearer ${token}`,
+      },
+    });
+    return response.data;
+  } catch (error) {
+    handleError(error);
+  }
+};
+
 // Fetch all assignments for a specific user
 export const getAssignmentsByUser = async (userId) => {
   try {
@@ -41,3 +41,10 @@ export const changePassword = async (userId, data) => {
     },
   });
 };
+
+// End the session on the server (best effort; the token is dropped locally either way).
+// The access token goes in the body so an expired one does not get the request rejected
+export const logoutUser = async () => {
+  const token = sessionStorage.getItem('token');
+  return axios.post('/users/auth/logout', { token });
+};
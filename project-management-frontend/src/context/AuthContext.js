@@ -1,4 +1,5 @@
 import React, { createContext, useState, useEffect } from 'react';
+import { logoutUser } from '../api/userApi';
 
 export const AuthContext = createContext();
 
@@ -25,7 +26,12 @@ const AuthProvider = ({ children }) => {
     };
 
     // Logout function to clear the token and user data and reset state
-    const logout = () => {
+    const logout = async () => {
+        try {
+            await logoutUser(); // Revoke the token so it can't be reused until it expires
+        } catch (error) {
+            console.error('Error revoking token:', error.response?.data || error.message);
+        }
         sessionStorage.removeItem('token'); // Remove token from sessionStorage
         sessionStorage.removeItem('user'); // Remove user data from sessionStorage
         setIsAuthenticated(false);
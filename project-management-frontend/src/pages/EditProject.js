@@ -9,6 +9,7 @@ const EditProject = ({ onClose, onUpdate }) => {
   const [projectName, setProjectName] = useState('');
   const [description, setDescription] = useState('');
   const [status, setStatus] = useState('IN_PROGRESS');
+  const [version, setVersion] = useState(null); // Sent back on save so concurrent edits are rejected with 409
   const [assignedUsers, setAssignedUsers] = useState([]);
   const [availableUsers, setAvailableUsers] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -29,6 +30,7 @@ const EditProject = ({ onClose, onUpdate }) => {
         setProjectName(project.projectName);
         setDescription(project.description);
         setStatus(project.status);
+        setVersion(project.version);
   
         const assignments = await fetchAssignedUsers(projectId);
         console.log('API Response for Assigned Users:', assignments);
@@ -76,6 +78,7 @@ const EditProject = ({ onClose, onUpdate }) => {
         description,
         status,
         createdBy: user.id,
+        version,
       };
 
       await updateProject(projectId, updatedProject);
@@ -83,7 +86,8 @@ const EditProject = ({ onClose, onUpdate }) => {
       onUpdate();
       onClose();
     } catch (err) {
-      const errorMessage = err.response?.data?.message || 'Error saving project. Please try again.';
+      // updateProject rethrows with the server message, e.g. when someone else saved the project first
+      const errorMessage = err.message || 'Error saving project. Please try again.';
       setError(errorMessage);
     } finally {
       setLoading(false);
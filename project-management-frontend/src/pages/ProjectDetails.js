@@ -2,7 +2,7 @@ import React, { useState, useEffect } from "react";
 import { useParams } from "react-router-dom";
 import { getProjectDetails } from "../api/projectApi";
 import { getUserById } from "../api/userApi"; // Function to fetch user data
-import { getAssignmentsByProject } from "../api/projectApi"; // Function to get project assignments
+import { getProjectMembers } from "../api/projectApi"; // Function to get project members with their names
 import { FaUserCircle } from "react-icons/fa";
 import { MdCheckBox, MdCheckBoxOutlineBlank } from "react-icons/md";
 
@@ -27,15 +27,9 @@ const ProjectDetails = () => {
           setCreatedByName(userData?.name);
         }
 
-        // Fetch assigned users for the project using the existing API
-        const assignmentsData = await getAssignmentsByProject(projectId); // Fetch assignments
-        console.log("Assignments data:", assignmentsData); // Log the assignments data for debugging
-
-        // Assuming 'user' is part of each assignment
-        const users = assignmentsData.map(assignment => assignment.user); 
-        console.log("Users extracted from assignments:", users); // Log the extracted user data
-
-        setAssignedUsers(users);
+        // Fetch assigned users together with their names in one request
+        const membersPage = await getProjectMembers(projectId);
+        setAssignedUsers(membersPage.content);
       } catch (err) {
         setError("Error fetching project details.");
       } finally {